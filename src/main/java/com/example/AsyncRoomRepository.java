@@ -0,0 +1,18 @@
+package com.example;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncRoomRepository {
+    CompletableFuture<Optional<Room>> findById(String id);
+    CompletableFuture<List<Room>> findAll();
+    CompletableFuture<Void> save(Room room);
+
+    /**
+     * Adapts a blocking repository by running each call on its own virtual thread.
+     */
+    static AsyncRoomRepository onVirtualThreads(RoomRepository roomRepository) {
+        return new VirtualThreadRoomRepository(roomRepository);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example;
+
+public class BookingCancelled extends BookingEvent {
+    public BookingCancelled(Booking booking) {
+        super(booking);
+    }
+}
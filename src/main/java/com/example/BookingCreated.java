@@ -0,0 +1,7 @@
+package com.example;
+
+public class BookingCreated extends BookingEvent {
+    public BookingCreated(Booking booking) {
+        super(booking);
+    }
+}
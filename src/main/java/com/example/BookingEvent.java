@@ -0,0 +1,13 @@
+package com.example;
+
+public abstract class BookingEvent {
+    private final Booking booking;
+
+    protected BookingEvent(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example;
+
+@FunctionalInterface
+public interface BookingEventListener {
+    void onEvent(BookingEvent event);
+}
@@ -1,13 +1,41 @@
 package com.example;
 
+import com.example.jfr.AvailableRoomsEvent;
+import com.example.jfr.BookRoomEvent;
+import com.example.jfr.BookingOutcome;
+import com.example.jfr.CancelBookingEvent;
+import com.example.jfr.NotificationEvent;
+
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class BookingSystem {
+    private static final Executor NOTIFICATION_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("booking-notification-", 0).factory());
+    private static final NotificationService READ_ONLY_NOTIFICATIONS = new NotificationService() {
+        @Override
+        public void sendBookingConfirmation(Booking booking) {
+        }
+
+        @Override
+        public void sendCancellationConfirmation(Booking booking) {
+        }
+    };
+
     private final TimeProvider timeProvider;
     private final RoomRepository roomRepository;
     private final NotificationService notificationService;
+    private final List<BookingEventListener> eventListeners = new CopyOnWriteArrayList<>();
+    private final Waitlist waitlist = new Waitlist();
+    private final RoomLocks roomLocks = new RoomLocks();
+    private final boolean readOnly;
+    private volatile AsyncRoomRepository asyncRoomRepository;
 
     public BookingSystem(TimeProvider timeProvider,
                          RoomRepository roomRepository,
@@ -15,42 +43,418 @@ public class BookingSystem {
         this.timeProvider = timeProvider;
         this.roomRepository = roomRepository;
         this.notificationService = notificationService;
+        // Bara readOnly har tillgång till instansen, så ingen annan kan skapa ett skrivskyddat system
+        this.readOnly = notificationService == READ_ONLY_NOTIFICATIONS;
+    }
+
+    /**
+     * Creates a booking system that only answers availability queries, for example from a replica
+     * of the primary's rooms. Every operation that would change a room or the waitlist is rejected.
+     */
+    public static BookingSystem readOnly(TimeProvider timeProvider, RoomRepository roomRepository) {
+        return new BookingSystem(timeProvider, roomRepository, READ_ONLY_NOTIFICATIONS);
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Replaces the repository used by the asynchronous operations. It must see the same rooms as
+     * the synchronous repository; by default the synchronous one is run on virtual threads.
+     */
+    public void setAsyncRoomRepository(AsyncRoomRepository asyncRoomRepository) {
+        if (asyncRoomRepository == null) {
+            throw new IllegalArgumentException("Repository kan inte vara null");
+        }
+        this.asyncRoomRepository = asyncRoomRepository;
     }
 
     public boolean bookRoom(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
-        if (startTime == null || endTime == null || roomId == null) {
-            throw new IllegalArgumentException("Bokning kräver giltiga start- och sluttider samt rum-id");
+        requireWritable();
+        BookRoomEvent event = new BookRoomEvent();
+        event.begin();
+        event.roomId = roomId;
+        try {
+            Room room = findRoomForBooking(roomId, startTime, endTime);
+
+            if (event.isEnabled()) {
+                event.bookingsScanned = room.getBookingCount();
+            }
+
+            Booking booking;
+            roomLocks.lock(roomId);
+            try {
+                if (!room.isAvailable(startTime, endTime)) {
+                    event.outcome = BookingOutcome.CONFLICT;
+                    return false;
+                }
+
+                booking = new Booking(UUID.randomUUID().toString(), roomId, startTime, endTime);
+                room.addBooking(booking);
+                roomRepository.save(room);
+                publishOrUndo(List.of(new BookingCreated(booking)), () -> {
+                    room.removeBooking(booking.getId());
+                    roomRepository.save(room);
+                });
+            } finally {
+                roomLocks.unlock(roomId);
+            }
+
+            sendBookingConfirmation(booking);
+
+            event.outcome = BookingOutcome.BOOKED;
+            return true;
+        } finally {
+            event.commit();
         }
+    }
 
-        if (startTime.isBefore(timeProvider.getCurrentTime())) {
-            throw new IllegalArgumentException("Kan inte boka tid i dåtid");
+    public List<Room> getAvailableRooms(LocalDateTime startTime, LocalDateTime endTime) {
+        AvailableRoomsEvent event = new AvailableRoomsEvent();
+        event.begin();
+        try {
+            validateInterval(startTime, endTime);
+
+            List<Room> rooms = roomRepository.findAll();
+            List<Room> availableRooms = rooms.stream()
+                    .filter(room -> room.isAvailable(startTime, endTime))
+                    .collect(Collectors.toList());
+
+            if (event.shouldCommit()) {
+                event.roomsScanned = rooms.size();
+                event.bookingsScanned = rooms.stream().mapToInt(Room::getBookingCount).sum();
+                event.roomsAvailable = availableRooms.size();
+                event.outcome = BookingOutcome.COMPLETED;
+            }
+            return availableRooms;
+        } finally {
+            event.commit();
         }
+    }
 
-        if (endTime.isBefore(startTime)) {
-            throw new IllegalArgumentException("Sluttid måste vara efter starttid");
+    public List<Room> findAvailableRooms(RoomCriteria criteria, LocalDateTime startTime, LocalDateTime endTime) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Sökkriterier kan inte vara null");
         }
+        validateInterval(startTime, endTime);
 
-        Room room = roomRepository.findById(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("Rummet existerar inte"));
+        return roomRepository.findMatching(criteria).stream()
+                .filter(room -> room.isAvailable(startTime, endTime))
+                .collect(Collectors.toList());
+    }
+
+    public boolean cancelBooking(String bookingId) {
+        requireWritable();
+        CancelBookingEvent event = new CancelBookingEvent();
+        event.begin();
+        event.bookingId = bookingId;
+        try {
+            if (bookingId == null) {
+                throw new IllegalArgumentException("Boknings-id kan inte vara null");
+            }
+
+            Room room = null;
+            for (Room candidate : roomRepository.findAll()) {
+                event.roomsScanned++;
+                if (candidate.hasBooking(bookingId)) {
+                    room = candidate;
+                    break;
+                }
+            }
 
-        if (!room.isAvailable(startTime, endTime)) {
-            return false;
+            if (room == null) {
+                event.outcome = BookingOutcome.NOT_FOUND;
+                return false;
+            }
+
+            event.roomId = room.getId();
+            Booking booking = room.getBooking(bookingId);
+
+            if (booking.getStartTime().isBefore(timeProvider.getCurrentTime())) {
+                throw new IllegalStateException("Kan inte avboka påbörjad eller avslutad bokning");
+            }
+
+            roomLocks.lock(booking.getRoomId());
+            try {
+                // En annan tråd kan ha hunnit avboka medan vi letade
+                if (!room.hasBooking(bookingId)) {
+                    event.outcome = BookingOutcome.NOT_FOUND;
+                    return false;
+                }
+                room.removeBooking(bookingId);
+                roomRepository.save(room);
+                Room cancelledFrom = room;
+                publishOrUndo(List.of(new BookingCancelled(booking)), () -> {
+                    cancelledFrom.addBooking(booking);
+                    roomRepository.save(cancelledFrom);
+                });
+            } finally {
+                roomLocks.unlock(booking.getRoomId());
+            }
+
+            sendCancellationConfirmation(booking);
+            promoteWaitlisted(room, booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+
+            event.outcome = BookingOutcome.CANCELLED;
+            return true;
+        } finally {
+            event.commit();
         }
+    }
 
-        Booking booking = new Booking(UUID.randomUUID().toString(), roomId, startTime, endTime);
-        room.addBooking(booking);
-        roomRepository.save(room);
+    /**
+     * Asynchronous variant of {@link #bookRoom}. The repository calls and the confirmation run
+     * without blocking the caller; invalid arguments fail the returned future. The room's lock is
+     * awaited without parking a thread and stays held until the save has completed. The booking
+     * event is published only once the save has succeeded; if it fails the booking is taken out of
+     * the room again and the future fails.
+     */
+    public CompletableFuture<Boolean> bookRoomAsync(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        try {
+            requireWritable();
+            validateBookingRequest(roomId, startTime, endTime);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
+        AsyncRoomRepository repository = asyncRoomRepository();
+        return repository.findById(roomId).thenCompose(found -> {
+            Room room = found.orElseThrow(() -> new IllegalArgumentException("Rummet existerar inte"));
+            return roomLocks.lockAsync(roomId).thenCompose(locked -> {
+                Booking booking;
+                try {
+                    if (!room.isAvailable(startTime, endTime)) {
+                        roomLocks.unlock(roomId);
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    booking = new Booking(UUID.randomUUID().toString(), roomId, startTime, endTime);
+                    room.addBooking(booking);
+                } catch (RuntimeException e) {
+                    roomLocks.unlock(roomId);
+                    throw e;
+                }
+
+                return saveAndUnlock(repository, room, roomId,
+                        List.of(new BookingCreated(booking)),
+                        () -> room.removeBooking(booking.getId()))
+                        .thenApplyAsync(saved -> {
+                            sendBookingConfirmation(booking);
+                            return true;
+                        }, NOTIFICATION_EXECUTOR);
+            });
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #cancelBooking}. Like {@link #bookRoomAsync} the event is
+     * published only after a successful save, and a failed save puts the booking back. Waiting
+     * requests for the freed interval are then promoted through the same asynchronous repository.
+     */
+    public CompletableFuture<Boolean> cancelBookingAsync(String bookingId) {
         try {
-            notificationService.sendBookingConfirmation(booking);
-        } catch (NotificationException e) {
-            // Fortsätt även om notifieringen misslyckas
+            requireWritable();
+            if (bookingId == null) {
+                throw new IllegalArgumentException("Boknings-id kan inte vara null");
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        AsyncRoomRepository repository = asyncRoomRepository();
+        return repository.findAll().thenCompose(rooms -> {
+            Room room = rooms.stream()
+                    .filter(candidate -> candidate.hasBooking(bookingId))
+                    .findFirst()
+                    .orElse(null);
+            if (room == null) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            Booking booking = room.getBooking(bookingId);
+            if (booking.getStartTime().isBefore(timeProvider.getCurrentTime())) {
+                throw new IllegalStateException("Kan inte avboka påbörjad eller avslutad bokning");
+            }
+
+            String roomId = booking.getRoomId();
+            return roomLocks.lockAsync(roomId).thenCompose(locked -> {
+                try {
+                    if (!room.hasBooking(bookingId)) {
+                        roomLocks.unlock(roomId);
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    room.removeBooking(bookingId);
+                } catch (RuntimeException e) {
+                    roomLocks.unlock(roomId);
+                    throw e;
+                }
+
+                return saveAndUnlock(repository, room, roomId,
+                        List.of(new BookingCancelled(booking)),
+                        () -> room.addBooking(booking))
+                        .thenComposeAsync(saved -> {
+                            sendCancellationConfirmation(booking);
+                            return promoteWaitlistedAsync(repository, room, roomId,
+                                    booking.getStartTime(), booking.getEndTime());
+                        }, NOTIFICATION_EXECUTOR)
+                        .thenApply(promoted -> true);
+            });
+        });
+    }
+
+    public CompletableFuture<List<Room>> getAvailableRoomsAsync(LocalDateTime startTime, LocalDateTime endTime) {
+        try {
+            validateInterval(startTime, endTime);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return asyncRoomRepository().findAll().thenApply(rooms -> rooms.stream()
+                .filter(room -> room.isAvailable(startTime, endTime))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Books all rooms for the same interval, or none of them. The rooms are locked in id order so
+     * that concurrent group bookings cannot deadlock, and a single confirmation covers the group.
+     */
+    public boolean bookRoomsAtomically(Set<String> roomIds, LocalDateTime startTime, LocalDateTime endTime) {
+        requireWritable();
+        if (roomIds == null || roomIds.isEmpty() || roomIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Bokning kräver minst ett giltigt rum-id");
+        }
+
+        List<Room> rooms = new ArrayList<>(roomIds.size());
+        for (String roomId : new TreeSet<>(roomIds)) {
+            rooms.add(findRoomForBooking(roomId, startTime, endTime));
         }
 
+        List<Booking> bookings = new ArrayList<>(rooms.size());
+        List<String> locked = roomLocks.lockAll(roomIds);
+        try {
+            for (Room room : rooms) {
+                if (!room.isAvailable(startTime, endTime)) {
+                    return false;
+                }
+            }
+
+            for (Room room : rooms) {
+                Booking booking = new Booking(UUID.randomUUID().toString(), room.getId(), startTime, endTime);
+                room.addBooking(booking);
+                bookings.add(booking);
+            }
+            roomRepository.saveAll(rooms);
+            publishOrUndo(bookings.stream().map(BookingCreated::new).toList(), () -> {
+                for (int i = 0; i < rooms.size(); i++) {
+                    rooms.get(i).removeBooking(bookings.get(i).getId());
+                }
+                roomRepository.saveAll(rooms);
+            });
+        } finally {
+            roomLocks.unlockAll(locked);
+        }
+
+        sendGroupBookingConfirmation(bookings);
         return true;
     }
 
-    public List<Room> getAvailableRooms(LocalDateTime startTime, LocalDateTime endTime) {
+    /**
+     * Adds bookings from a bulk import and returns how many were added. The rooms are locked in id
+     * order before {@code selectBookings} is asked which bookings to add to each room, so the conflict
+     * check it makes sees the room exactly as it is saved and no concurrent booking can slip in
+     * between. The rooms are saved together and a {@link BookingCreated} is published for every
+     * booking so that the event log and other listeners see them. No confirmations are sent.
+     */
+    public int addImportedBookings(Collection<Room> rooms, Function<Room, List<Booking>> selectBookings) {
+        requireWritable();
+        if (rooms == null || selectBookings == null) {
+            throw new IllegalArgumentException("Rum och urval kan inte vara null");
+        }
+        if (rooms.isEmpty()) {
+            return 0;
+        }
+
+        Map<Room, List<Booking>> bookingsByRoom = new LinkedHashMap<>();
+        List<String> locked = roomLocks.lockAll(rooms.stream().map(Room::getId).toList());
+        try {
+            for (Room room : rooms) {
+                List<Booking> bookings = selectBookings.apply(room);
+                if (!bookings.isEmpty()) {
+                    room.addBookings(bookings);
+                    bookingsByRoom.put(room, bookings);
+                }
+            }
+            if (bookingsByRoom.isEmpty()) {
+                return 0;
+            }
+            roomRepository.saveAll(bookingsByRoom.keySet());
+            List<BookingCreated> events = bookingsByRoom.values().stream()
+                    .flatMap(List::stream)
+                    .map(BookingCreated::new)
+                    .toList();
+            publishOrUndo(events, () -> {
+                bookingsByRoom.forEach((room, bookings) ->
+                        bookings.forEach(booking -> room.removeBooking(booking.getId())));
+                roomRepository.saveAll(bookingsByRoom.keySet());
+            });
+        } finally {
+            roomLocks.unlockAll(locked);
+        }
+        return bookingsByRoom.values().stream().mapToInt(List::size).sum();
+    }
+
+    public String joinWaitlist(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        requireWritable();
+        Room room = findRoomForBooking(roomId, startTime, endTime);
+        WaitlistEntry entry = waitlist.add(roomId, startTime, endTime);
+
+        // Rummet kan ha blivit ledigt sedan bokningsförsöket misslyckades
+        promoteWaitlisted(room, roomId, startTime, endTime);
+        return entry.getId();
+    }
+
+    public boolean leaveWaitlist(String waitlistId) {
+        requireWritable();
+        if (waitlistId == null) {
+            throw new IllegalArgumentException("Kö-id kan inte vara null");
+        }
+        return waitlist.remove(waitlistId);
+    }
+
+    public void addEventListener(BookingEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Lyssnare kan inte vara null");
+        }
+        eventListeners.add(listener);
+    }
+
+    private void requireWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("Bokningssystemet är skrivskyddat");
+        }
+    }
+
+    private Room findRoomForBooking(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        validateBookingRequest(roomId, startTime, endTime);
+        return roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Rummet existerar inte"));
+    }
+
+    private void validateBookingRequest(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || roomId == null) {
+            throw new IllegalArgumentException("Bokning kräver giltiga start- och sluttider samt rum-id");
+        }
+
+        if (startTime.isBefore(timeProvider.getCurrentTime())) {
+            throw new IllegalArgumentException("Kan inte boka tid i dåtid");
+        }
+
+        if (endTime.isBefore(startTime)) {
+            throw new IllegalArgumentException("Sluttid måste vara efter starttid");
+        }
+    }
+
+    private static void validateInterval(LocalDateTime startTime, LocalDateTime endTime) {
         if (startTime == null || endTime == null) {
             throw new IllegalArgumentException("Måste ange både start- och sluttid");
         }
@@ -58,42 +462,234 @@ public class BookingSystem {
         if (endTime.isBefore(startTime)) {
             throw new IllegalArgumentException("Sluttid måste vara efter starttid");
         }
+    }
 
-        return roomRepository.findAll().stream()
-                .filter(room -> room.isAvailable(startTime, endTime))
-                .collect(Collectors.toList());
+    private AsyncRoomRepository asyncRoomRepository() {
+        AsyncRoomRepository repository = asyncRoomRepository;
+        if (repository == null) {
+            repository = new VirtualThreadRoomRepository(roomRepository);
+            asyncRoomRepository = repository;
+        }
+        return repository;
     }
 
-    public boolean cancelBooking(String bookingId) {
-        if (bookingId == null) {
-            throw new IllegalArgumentException("Boknings-id kan inte vara null");
+    private void promoteWaitlisted(Room room, String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<WaitlistEntry> candidates = waitlist.overlapping(roomId, startTime, endTime);
+        if (candidates.isEmpty()) {
+            return;
         }
 
-        Optional<Room> roomWithBooking = roomRepository.findAll().stream()
-                .filter(room -> room.hasBooking(bookingId))
-                .findFirst();
+        List<WaitlistEntry> promotedEntries = new ArrayList<>();
+        List<Booking> promoted = new ArrayList<>();
+        roomLocks.lock(roomId);
+        try {
+            reserveWaitlisted(room, roomId, candidates, promotedEntries, promoted);
+            if (!promoted.isEmpty()) {
+                roomRepository.save(room);
+                publishOrUndo(promoted.stream().map(BookingCreated::new).toList(), () -> {
+                    promoted.forEach(booking -> room.removeBooking(booking.getId()));
+                    promotedEntries.forEach(waitlist::restore);
+                    roomRepository.save(room);
+                });
+            }
+        } finally {
+            roomLocks.unlock(roomId);
+        }
 
-        if (roomWithBooking.isEmpty()) {
-            return false;
+        promoted.forEach(this::sendBookingConfirmation);
+    }
+
+    /**
+     * Asynchronous variant of {@link #promoteWaitlisted}. If the save fails the promoted bookings
+     * are taken out of the room and the requests go back on the waitlist in their original place.
+     */
+    private CompletableFuture<Void> promoteWaitlistedAsync(AsyncRoomRepository repository, Room room, String roomId,
+                                                           LocalDateTime startTime, LocalDateTime endTime) {
+        List<WaitlistEntry> candidates = waitlist.overlapping(roomId, startTime, endTime);
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        Room room = roomWithBooking.get();
-        Booking booking = room.getBooking(bookingId);
+        List<WaitlistEntry> promotedEntries = new ArrayList<>();
+        List<Booking> promoted = new ArrayList<>();
+        return roomLocks.lockAsync(roomId).thenCompose(locked -> {
+            try {
+                reserveWaitlisted(room, roomId, candidates, promotedEntries, promoted);
+            } catch (RuntimeException e) {
+                roomLocks.unlock(roomId);
+                throw e;
+            }
+            if (promoted.isEmpty()) {
+                roomLocks.unlock(roomId);
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+
+            return saveAndUnlock(repository, room, roomId,
+                    promoted.stream().map(BookingCreated::new).toList(),
+                    () -> {
+                        promoted.forEach(booking -> room.removeBooking(booking.getId()));
+                        promotedEntries.forEach(waitlist::restore);
+                    })
+                    .thenRunAsync(() -> promoted.forEach(this::sendBookingConfirmation), NOTIFICATION_EXECUTOR);
+        }).exceptionally(failure -> {
+            // Avbokningen är redan sparad, de väntande ligger kvar i kön
+            return null;
+        });
+    }
+
+    /**
+     * Adds a booking to the room for every waiting request that now fits and takes it off the
+     * waitlist. Requests whose start has passed are dropped. The caller holds the room's lock.
+     */
+    private void reserveWaitlisted(Room room, String roomId, List<WaitlistEntry> candidates,
+                                   List<WaitlistEntry> promotedEntries, List<Booking> promoted) {
+        LocalDateTime now = timeProvider.getCurrentTime();
+        for (WaitlistEntry entry : candidates) {
+            if (entry.getStartTime().isBefore(now)) {
+                waitlist.remove(entry.getId());
+                continue;
+            }
+            if (!room.isAvailable(entry.getStartTime(), entry.getEndTime()) || !waitlist.remove(entry.getId())) {
+                continue;
+            }
 
-        if (booking.getStartTime().isBefore(timeProvider.getCurrentTime())) {
-            throw new IllegalStateException("Kan inte avboka påbörjad eller avslutad bokning");
+            Booking booking = new Booking(UUID.randomUUID().toString(), roomId,
+                    entry.getStartTime(), entry.getEndTime());
+            room.addBooking(booking);
+            promotedEntries.add(entry);
+            promoted.add(booking);
         }
+    }
 
-        room.removeBooking(bookingId);
-        roomRepository.save(room);
+    /**
+     * Saves a room whose lock the caller holds and publishes the events once the save has succeeded.
+     * If the save fails, or a listener fails and the change has to be saved again without it,
+     * {@code rollback} undoes the in-memory change. The lock is released when everything is done.
+     */
+    private CompletableFuture<Void> saveAndUnlock(AsyncRoomRepository repository, Room room, String roomId,
+                                                  List<? extends BookingEvent> events, Runnable rollback) {
+        return saveAsync(repository, room)
+                .handle((saved, failure) -> failure)
+                .thenCompose(failure -> {
+                    if (failure != null) {
+                        rollback.run();
+                        return CompletableFuture.<Void>failedFuture(failure);
+                    }
+                    try {
+                        publish(events);
+                        return CompletableFuture.<Void>completedFuture(null);
+                    } catch (RuntimeException e) {
+                        rollback.run();
+                        return saveAsync(repository, room).<Void>handle((undone, undoFailure) -> {
+                            throw e;
+                        });
+                    }
+                })
+                .whenComplete((result, failure) -> roomLocks.unlock(roomId));
+    }
 
+    private static CompletableFuture<Void> saveAsync(AsyncRoomRepository repository, Room room) {
+        try {
+            return repository.save(room);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Publishes the events for a change that has already been saved. If a listener fails,
+     * {@code undo} reverts and saves the change again before the failure is thrown, so the booking is
+     * never kept without its event.
+     */
+    private void publishOrUndo(List<? extends BookingEvent> events, Runnable undo) {
+        try {
+            publish(events);
+        } catch (RuntimeException e) {
+            undo.run();
+            throw e;
+        }
+    }
+
+    private void sendBookingConfirmation(Booking booking) {
+        NotificationEvent event = new NotificationEvent();
+        event.begin();
+        event.kind = "BOOKING";
+        try {
+            notificationService.sendBookingConfirmation(booking);
+            event.outcome = BookingOutcome.SENT;
+        } catch (NotificationException e) {
+            // Fortsätt även om notifieringen misslyckas
+        } finally {
+            commit(event, booking);
+        }
+    }
+
+    private void sendGroupBookingConfirmation(List<Booking> bookings) {
+        NotificationEvent event = new NotificationEvent();
+        event.begin();
+        event.kind = "GROUP_BOOKING";
+        try {
+            notificationService.sendGroupBookingConfirmation(bookings);
+            event.outcome = BookingOutcome.SENT;
+        } catch (NotificationException e) {
+            // Fortsätt även om notifieringen misslyckas
+        } finally {
+            commit(event, bookings.get(0));
+        }
+    }
+
+    private void sendCancellationConfirmation(Booking booking) {
+        NotificationEvent event = new NotificationEvent();
+        event.begin();
+        event.kind = "CANCELLATION";
         try {
             notificationService.sendCancellationConfirmation(booking);
+            event.outcome = BookingOutcome.SENT;
         } catch (NotificationException e) {
             // Fortsätt även om notifieringen misslyckas
+        } finally {
+            commit(event, booking);
         }
+    }
 
-        return true;
+    private static void commit(NotificationEvent event, Booking booking) {
+        if (event.shouldCommit()) {
+            event.bookingId = booking.getId();
+            event.roomId = booking.getRoomId();
+            event.commit();
+        }
+    }
+
+    /**
+     * Delivers the events to every listener. If a listener fails, the listeners that already received
+     * events get the opposite events in reverse order, so none of them keeps a change the caller is
+     * about to undo, and the failure is thrown.
+     */
+    private void publish(List<? extends BookingEvent> events) {
+        Deque<Runnable> compensations = new ArrayDeque<>();
+        try {
+            for (BookingEventListener listener : eventListeners) {
+                for (BookingEvent event : events) {
+                    listener.onEvent(event);
+                    compensations.push(() -> listener.onEvent(opposite(event)));
+                }
+            }
+        } catch (RuntimeException e) {
+            while (!compensations.isEmpty()) {
+                try {
+                    compensations.pop().run();
+                } catch (RuntimeException compensationFailure) {
+                    e.addSuppressed(compensationFailure);
+                }
+            }
+            throw new IllegalStateException("Bokningshändelsen kunde inte publiceras", e);
+        }
+    }
+
+    private static BookingEvent opposite(BookingEvent event) {
+        return event instanceof BookingCancelled
+                ? new BookingCreated(event.getBooking())
+                : new BookingCancelled(event.getBooking());
     }
 }
 
@@ -0,0 +1,28 @@
+package com.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Binary form of a {@link LocalDateTime} shared by the event log and replication: the epoch day
+ * followed by the nano of day, each as a long.
+ */
+public final class DateTimeCodec {
+    private DateTimeCodec() {
+    }
+
+    public static void write(DataOutput out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toLocalDate().toEpochDay());
+        out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+    }
+
+    public static LocalDateTime read(DataInput in) throws IOException {
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        LocalTime time = LocalTime.ofNanoOfDay(in.readLong());
+        return LocalDateTime.of(date, time);
+    }
+}
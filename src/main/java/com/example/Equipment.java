@@ -0,0 +1,30 @@
+package com.example;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum Equipment {
+    PROJECTOR,
+    WHITEBOARD,
+    VIDEO_CONFERENCE,
+    SPEAKERPHONE,
+    SCREEN;
+
+    public static long toMask(Set<Equipment> equipment) {
+        long mask = 0;
+        for (Equipment item : equipment) {
+            mask |= 1L << item.ordinal();
+        }
+        return mask;
+    }
+
+    public static EnumSet<Equipment> fromMask(long mask) {
+        EnumSet<Equipment> equipment = EnumSet.noneOf(Equipment.class);
+        for (Equipment item : values()) {
+            if ((mask & (1L << item.ordinal())) != 0) {
+                equipment.add(item);
+            }
+        }
+        return equipment;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class InMemoryRoomRepository implements RoomRepository {
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final RoomIndex roomIndex = new RoomIndex();
+
+    @Override
+    public Optional<Room> findById(String id) {
+        return Optional.ofNullable(rooms.get(id));
+    }
+
+    @Override
+    public List<Room> findAll() {
+        return new ArrayList<>(rooms.values());
+    }
+
+    @Override
+    public void save(Room room) {
+        rooms.put(room.getId(), room);
+        roomIndex.put(room);
+    }
+
+    @Override
+    public void saveAll(Collection<Room> newRooms) {
+        for (Room room : newRooms) {
+            rooms.put(room.getId(), room);
+            roomIndex.put(room);
+        }
+    }
+
+    @Override
+    public void forEachRoom(Consumer<Room> action) {
+        rooms.values().forEach(action);
+    }
+
+    @Override
+    public Stream<Room> streamAll() {
+        return rooms.values().stream();
+    }
+
+    @Override
+    public List<Room> findMatching(RoomCriteria criteria) {
+        return roomIndex.find(criteria);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+}
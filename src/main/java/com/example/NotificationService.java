@@ -1,6 +1,14 @@
 package com.example;
 
+import java.util.List;
+
 public interface NotificationService {
     void sendBookingConfirmation(Booking booking) throws NotificationException;
     void sendCancellationConfirmation(Booking booking) throws NotificationException;
+
+    default void sendGroupBookingConfirmation(List<Booking> bookings) throws NotificationException {
+        for (Booking booking : bookings) {
+            sendBookingConfirmation(booking);
+        }
+    }
 }
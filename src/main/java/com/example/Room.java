@@ -1,45 +1,76 @@
 package com.example;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class Room {
     private final String id;
     private final String name;
+    private final int capacity;
+    private final int floor;
+    private final Set<Equipment> equipment;
     private final Set<Booking> bookings = new HashSet<>();
 
     public Room(String id, String name) {
+        this(id, name, 0, 0, Set.of());
+    }
+
+    public Room(String id, String name, int capacity, int floor, Set<Equipment> equipment) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Kapacitet kan inte vara negativ");
+        }
         this.id = id;
         this.name = name;
+        this.capacity = capacity;
+        this.floor = floor;
+        this.equipment = equipment.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(equipment));
     }
 
-    public boolean isAvailable(LocalDateTime startTime, LocalDateTime endTime) {
+    public synchronized boolean isAvailable(LocalDateTime startTime, LocalDateTime endTime) {
         return bookings.stream()
                 .noneMatch(booking ->
                         booking.overlaps(startTime, endTime));
     }
 
-    public void addBooking(Booking booking) {
+    public synchronized void addBooking(Booking booking) {
         bookings.add(booking);
     }
 
-    public void removeBooking(String bookingId) {
+    public synchronized void addBookings(Collection<Booking> newBookings) {
+        bookings.addAll(newBookings);
+    }
+
+    public synchronized void removeBooking(String bookingId) {
         bookings.removeIf(booking -> booking.getId().equals(bookingId));
     }
 
-    public boolean hasBooking(String bookingId) {
+    public synchronized boolean hasBooking(String bookingId) {
         return bookings.stream()
                 .anyMatch(booking -> booking.getId().equals(bookingId));
     }
 
-    public Booking getBooking(String bookingId) {
+    public synchronized Booking getBooking(String bookingId) {
         return bookings.stream()
                 .filter(booking -> booking.getId().equals(bookingId))
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Bokning finns inte"));
     }
 
+    public synchronized int getBookingCount() {
+        return bookings.size();
+    }
+
+    public synchronized Collection<Booking> getBookings() {
+        return List.copyOf(bookings);
+    }
+
     public String getId() {
         return id;
     }
@@ -47,4 +78,20 @@ public class Room {
     public String getName() {
         return name;
     }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public Set<Equipment> getEquipment() {
+        return equipment;
+    }
+
+    public boolean hasEquipment(Set<Equipment> required) {
+        return equipment.containsAll(required);
+    }
 }
@@ -0,0 +1,50 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class RoomCriteria {
+    private final int minimumCapacity;
+    private final Integer floor;
+    private final Set<Equipment> requiredEquipment;
+
+    public RoomCriteria(int minimumCapacity, Integer floor, Set<Equipment> requiredEquipment) {
+        if (minimumCapacity < 0) {
+            throw new IllegalArgumentException("Kapacitet kan inte vara negativ");
+        }
+        if (requiredEquipment == null) {
+            throw new IllegalArgumentException("Utrustning kan inte vara null");
+        }
+        this.minimumCapacity = minimumCapacity;
+        this.floor = floor;
+        this.requiredEquipment = requiredEquipment.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(requiredEquipment));
+    }
+
+    public static RoomCriteria any() {
+        return new RoomCriteria(0, null, Set.of());
+    }
+
+    public boolean matches(Room room) {
+        return room.getCapacity() >= minimumCapacity
+                && (floor == null || room.getFloor() == floor)
+                && room.hasEquipment(requiredEquipment);
+    }
+
+    public int getMinimumCapacity() {
+        return minimumCapacity;
+    }
+
+    /**
+     * Returns the required floor, or null if any floor will do.
+     */
+    public Integer getFloor() {
+        return floor;
+    }
+
+    public Set<Equipment> getRequiredEquipment() {
+        return requiredEquipment;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes over room attributes. Every room gets a slot number; capacity, floor and
+ * equipment each map to bitsets of slots, so a query is a handful of bitset operations.
+ */
+public class RoomIndex {
+    private static final BitSet NONE = new BitSet();
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final List<Room> rooms = new ArrayList<>();
+    private final NavigableMap<Integer, BitSet> slotsByCapacity = new TreeMap<>();
+    private final Map<Integer, BitSet> slotsByFloor = new HashMap<>();
+    private final Map<Equipment, BitSet> slotsByEquipment = new EnumMap<>(Equipment.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Room room) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(room.getId());
+            if (slot == null) {
+                slot = rooms.size();
+                slotsById.put(room.getId(), slot);
+                rooms.add(room);
+                index(room, slot);
+                return;
+            }
+            Room previous = rooms.set(slot, room);
+            if (!sameAttributes(previous, room)) {
+                unindex(previous, slot);
+                index(room, slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Room> find(RoomCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = new BitSet(rooms.size());
+            if (criteria.getMinimumCapacity() > 0) {
+                for (BitSet slots : slotsByCapacity.tailMap(criteria.getMinimumCapacity(), true).values()) {
+                    candidates.or(slots);
+                }
+            } else {
+                candidates.set(0, rooms.size());
+            }
+            if (criteria.getFloor() != null) {
+                candidates.and(slotsByFloor.getOrDefault(criteria.getFloor(), NONE));
+            }
+            for (Equipment equipment : criteria.getRequiredEquipment()) {
+                candidates.and(slotsByEquipment.getOrDefault(equipment, NONE));
+            }
+
+            List<Room> matching = new ArrayList<>(candidates.cardinality());
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                matching.add(rooms.get(slot));
+            }
+            return matching;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Room room, int slot) {
+        slotsByCapacity.computeIfAbsent(room.getCapacity(), capacity -> new BitSet()).set(slot);
+        slotsByFloor.computeIfAbsent(room.getFloor(), floor -> new BitSet()).set(slot);
+        for (Equipment equipment : room.getEquipment()) {
+            slotsByEquipment.computeIfAbsent(equipment, item -> new BitSet()).set(slot);
+        }
+    }
+
+    private void unindex(Room room, int slot) {
+        slotsByCapacity.get(room.getCapacity()).clear(slot);
+        slotsByFloor.get(room.getFloor()).clear(slot);
+        for (Equipment equipment : room.getEquipment()) {
+            slotsByEquipment.get(equipment).clear(slot);
+        }
+    }
+
+    private static boolean sameAttributes(Room previous, Room room) {
+        return previous == room
+                || previous.getCapacity() == room.getCapacity()
+                && previous.getFloor() == room.getFloor()
+                && previous.getEquipment().equals(room.getEquipment());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * One lock per room, handed to waiters in arrival order. A lock is not owned by a thread, so an
+ * asynchronous operation can hold a room across a pending save and release it from whichever
+ * thread completes the save. Asynchronous callers wait with {@link #lockAsync} without parking a
+ * thread; the lock is handed to them on a virtual thread, never on the thread that released it.
+ * The locks are not reentrant.
+ */
+class RoomLocks {
+    private static final Executor HANDOFF_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("room-lock-", 0).factory());
+
+    private final ConcurrentMap<String, RoomLock> locks = new ConcurrentHashMap<>();
+
+    void lock(String roomId) {
+        lockFor(roomId).acquire(false).join();
+    }
+
+    /**
+     * Returns a future that completes once the caller holds the room's lock.
+     */
+    CompletableFuture<Void> lockAsync(String roomId) {
+        return lockFor(roomId).acquire(true);
+    }
+
+    void unlock(String roomId) {
+        locks.get(roomId).release();
+    }
+
+    /**
+     * Locks the rooms in id order and returns the ids in that order. Every caller uses the same
+     * order, so two callers can never hold one lock each while waiting for the other's.
+     */
+    List<String> lockAll(Collection<String> roomIds) {
+        List<String> acquired = new ArrayList<>(roomIds.size());
+        try {
+            for (String roomId : new TreeSet<>(roomIds)) {
+                lock(roomId);
+                acquired.add(roomId);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(acquired);
+            throw e;
+        }
+        return acquired;
+    }
+
+    void unlockAll(List<String> roomIds) {
+        for (int i = roomIds.size() - 1; i >= 0; i--) {
+            unlock(roomIds.get(i));
+        }
+    }
+
+    private RoomLock lockFor(String roomId) {
+        return locks.computeIfAbsent(roomId, id -> new RoomLock());
+    }
+
+    private static final class RoomLock {
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private boolean held;
+
+        synchronized CompletableFuture<Void> acquire(boolean async) {
+            if (!held) {
+                held = true;
+                return CompletableFuture.completedFuture(null);
+            }
+            Waiter waiter = new Waiter(async);
+            waiters.add(waiter);
+            return waiter.granted;
+        }
+
+        void release() {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    held = false;
+                    return;
+                }
+            }
+            // Låset lämnas över direkt, så held förblir satt. En asynkron väntare fortsätter på en egen
+            // tråd så att den som släppte låset inte kör nästa operation eller bygger upp stacken.
+            if (next.async) {
+                next.granted.completeAsync(() -> null, HANDOFF_EXECUTOR);
+            } else {
+                next.granted.complete(null);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        private final boolean async;
+
+        Waiter(boolean async) {
+            this.async = async;
+        }
+    }
+}
@@ -1,10 +1,29 @@
 package com.example;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface RoomRepository {
     Optional<Room> findById(String id);
     List<Room> findAll();
     void save(Room room);
+
+    default void saveAll(Collection<Room> rooms) {
+        rooms.forEach(this::save);
+    }
+
+    default void forEachRoom(Consumer<Room> action) {
+        findAll().forEach(action);
+    }
+
+    default Stream<Room> streamAll() {
+        return findAll().stream();
+    }
+
+    default List<Room> findMatching(RoomCriteria criteria) {
+        return streamAll().filter(criteria::matches).toList();
+    }
 }
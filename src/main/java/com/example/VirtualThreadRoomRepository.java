@@ -0,0 +1,41 @@
+package com.example;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every call to a blocking {@link RoomRepository} on a fresh virtual thread. A call that
+ * blocks on I/O parks only its virtual thread, so thousands of calls in flight share a handful of
+ * carrier threads instead of holding one platform thread each.
+ */
+public class VirtualThreadRoomRepository implements AsyncRoomRepository {
+    private static final Executor VIRTUAL_THREADS =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("room-repository-", 0).factory());
+
+    private final RoomRepository roomRepository;
+
+    public VirtualThreadRoomRepository(RoomRepository roomRepository) {
+        if (roomRepository == null) {
+            throw new IllegalArgumentException("Repository kan inte vara null");
+        }
+        this.roomRepository = roomRepository;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Room>> findById(String id) {
+        return CompletableFuture.supplyAsync(() -> roomRepository.findById(id), VIRTUAL_THREADS);
+    }
+
+    @Override
+    public CompletableFuture<List<Room>> findAll() {
+        return CompletableFuture.supplyAsync(roomRepository::findAll, VIRTUAL_THREADS);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(Room room) {
+        return CompletableFuture.runAsync(() -> roomRepository.save(room), VIRTUAL_THREADS);
+    }
+}
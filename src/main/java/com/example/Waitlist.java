@@ -0,0 +1,112 @@
+package com.example;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Waiting booking requests, indexed per room by start time. Only requests overlapping a freed
+ * interval can fit after a cancellation, and those are found with a range lookup bounded by the
+ * longest interval currently waiting instead of a scan of every waiter.
+ */
+public class Waitlist {
+    private final Map<String, RoomQueue> queuesByRoom = new HashMap<>();
+    private final Map<String, WaitlistEntry> entriesById = new HashMap<>();
+    private long nextSequence;
+
+    public synchronized WaitlistEntry add(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        WaitlistEntry entry = new WaitlistEntry(UUID.randomUUID().toString(), roomId, startTime, endTime, nextSequence++);
+        entriesById.put(entry.getId(), entry);
+        queuesByRoom.computeIfAbsent(roomId, id -> new RoomQueue()).add(entry);
+        return entry;
+    }
+
+    /**
+     * Puts back an entry that was removed, keeping its id and its place in the queue.
+     */
+    public synchronized void restore(WaitlistEntry entry) {
+        if (entriesById.putIfAbsent(entry.getId(), entry) == null) {
+            queuesByRoom.computeIfAbsent(entry.getRoomId(), id -> new RoomQueue()).add(entry);
+        }
+    }
+
+    public synchronized boolean remove(String entryId) {
+        WaitlistEntry entry = entriesById.remove(entryId);
+        if (entry == null) {
+            return false;
+        }
+        RoomQueue queue = queuesByRoom.get(entry.getRoomId());
+        queue.remove(entry);
+        if (queue.isEmpty()) {
+            queuesByRoom.remove(entry.getRoomId());
+        }
+        return true;
+    }
+
+    /**
+     * Returns the entries for the room whose interval overlaps the given one, in the order they joined.
+     */
+    public synchronized List<WaitlistEntry> overlapping(String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        RoomQueue queue = queuesByRoom.get(roomId);
+        if (queue == null) {
+            return List.of();
+        }
+        return queue.overlapping(startTime, endTime);
+    }
+
+    public synchronized int size() {
+        return entriesById.size();
+    }
+
+    private static class RoomQueue {
+        private final TreeMap<LocalDateTime, List<WaitlistEntry>> entriesByStart = new TreeMap<>();
+        // Antal väntande per längd, så att den längsta kan krympa när den tas bort
+        private final TreeMap<Duration, Integer> lengthCounts = new TreeMap<>();
+
+        void add(WaitlistEntry entry) {
+            entriesByStart.computeIfAbsent(entry.getStartTime(), start -> new ArrayList<>(1)).add(entry);
+            lengthCounts.merge(length(entry), 1, Integer::sum);
+        }
+
+        void remove(WaitlistEntry entry) {
+            List<WaitlistEntry> entries = entriesByStart.get(entry.getStartTime());
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                entriesByStart.remove(entry.getStartTime());
+            }
+            lengthCounts.computeIfPresent(length(entry), (length, count) -> count == 1 ? null : count - 1);
+        }
+
+        private Duration longest() {
+            return lengthCounts.isEmpty() ? Duration.ZERO : lengthCounts.lastKey();
+        }
+
+        private static Duration length(WaitlistEntry entry) {
+            return Duration.between(entry.getStartTime(), entry.getEndTime());
+        }
+
+        boolean isEmpty() {
+            return entriesByStart.isEmpty();
+        }
+
+        List<WaitlistEntry> overlapping(LocalDateTime startTime, LocalDateTime endTime) {
+            // En väntande bokning som börjar före startTime - longest kan inte nå fram till startTime
+            List<WaitlistEntry> result = new ArrayList<>();
+            for (List<WaitlistEntry> entries : entriesByStart.subMap(startTime.minus(longest()), true, endTime, true).values()) {
+                for (WaitlistEntry entry : entries) {
+                    if (!entry.getEndTime().isBefore(startTime)) {
+                        result.add(entry);
+                    }
+                }
+            }
+            result.sort(Comparator.comparingLong(WaitlistEntry::getSequence));
+            return result;
+        }
+    }
+}
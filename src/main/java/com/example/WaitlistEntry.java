@@ -0,0 +1,42 @@
+package com.example;
+
+import java.time.LocalDateTime;
+
+public class WaitlistEntry {
+    private final String id;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final long sequence;
+
+    public WaitlistEntry(String id, String roomId, LocalDateTime startTime, LocalDateTime endTime, long sequence) {
+        this.id = id;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.sequence = sequence;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Order in which the entry joined the waitlist; lower values are promoted first.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+}
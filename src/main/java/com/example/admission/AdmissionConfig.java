@@ -0,0 +1,84 @@
+package com.example.admission;
+
+import java.time.Duration;
+
+/**
+ * Immutable limits for {@link AdmissionControlledBookingSystem}. Start from {@link #defaults()} and
+ * adjust with the {@code with...} methods.
+ */
+public class AdmissionConfig {
+    private final double clientRatePerSecond;
+    private final int clientBurst;
+    private final double roomRatePerSecond;
+    private final int roomBurst;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private AdmissionConfig(double clientRatePerSecond, int clientBurst, double roomRatePerSecond, int roomBurst,
+                            int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        if (clientRatePerSecond <= 0 || clientBurst <= 0 || roomRatePerSecond <= 0 || roomBurst <= 0) {
+            throw new IllegalArgumentException("Takt och burst måste vara positiva");
+        }
+        if (maxConcurrent <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("Samtidighetsgränsen måste vara positiv och kön får inte vara negativ");
+        }
+        if (queueTimeout == null || queueTimeout.isNegative()) {
+            throw new IllegalArgumentException("Kötiden får inte vara negativ");
+        }
+        this.clientRatePerSecond = clientRatePerSecond;
+        this.clientBurst = clientBurst;
+        this.roomRatePerSecond = roomRatePerSecond;
+        this.roomBurst = roomBurst;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+    }
+
+    public static AdmissionConfig defaults() {
+        return new AdmissionConfig(5, 10, 20, 40, 64, 64, Duration.ofMillis(50));
+    }
+
+    public AdmissionConfig withClientLimit(double ratePerSecond, int burst) {
+        return new AdmissionConfig(ratePerSecond, burst, roomRatePerSecond, roomBurst,
+                maxConcurrent, maxQueued, queueTimeout);
+    }
+
+    public AdmissionConfig withRoomLimit(double ratePerSecond, int burst) {
+        return new AdmissionConfig(clientRatePerSecond, clientBurst, ratePerSecond, burst,
+                maxConcurrent, maxQueued, queueTimeout);
+    }
+
+    public AdmissionConfig withConcurrency(int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        return new AdmissionConfig(clientRatePerSecond, clientBurst, roomRatePerSecond, roomBurst,
+                maxConcurrent, maxQueued, queueTimeout);
+    }
+
+    public double getClientRatePerSecond() {
+        return clientRatePerSecond;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    public double getRoomRatePerSecond() {
+        return roomRatePerSecond;
+    }
+
+    public int getRoomBurst() {
+        return roomBurst;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+}
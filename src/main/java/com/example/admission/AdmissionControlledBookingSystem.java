@@ -0,0 +1,123 @@
+package com.example.admission;
+
+import com.example.BookingSystem;
+import com.example.Room;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of a {@link BookingSystem}. A request must get a token from its
+ * client's bucket, for bookings also from the room's bucket, and then a slot from the concurrency
+ * limiter before it reaches the booking system. Anything that does not get through is rejected with
+ * an {@link AdmissionRejectedException} right away, without touching the repository or the notifier.
+ *
+ * <p>Tokens are taken in that order and not handed back when a later check rejects the request, so a
+ * client that keeps hammering a saturated room also uses up its own allowance.
+ */
+public class AdmissionControlledBookingSystem {
+    private final BookingSystem bookingSystem;
+    private final AdmissionConfig config;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> roomBuckets = new ConcurrentHashMap<>();
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final Map<AdmissionRejectedException.Reason, LongAdder> rejections =
+            new EnumMap<>(AdmissionRejectedException.Reason.class);
+
+    public AdmissionControlledBookingSystem(BookingSystem bookingSystem, AdmissionConfig config) {
+        this(bookingSystem, config, System::nanoTime);
+    }
+
+    public AdmissionControlledBookingSystem(BookingSystem bookingSystem, AdmissionConfig config,
+                                            LongSupplier nanoClock) {
+        if (bookingSystem == null || config == null || nanoClock == null) {
+            throw new IllegalArgumentException("Bokningssystem, konfiguration och klocka krävs");
+        }
+        this.bookingSystem = bookingSystem;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.concurrencyLimiter = new ConcurrencyLimiter(config.getMaxConcurrent(), config.getMaxQueued(),
+                config.getQueueTimeout());
+        for (AdmissionRejectedException.Reason reason : AdmissionRejectedException.Reason.values()) {
+            rejections.put(reason, new LongAdder());
+        }
+    }
+
+    public boolean bookRoom(String clientId, String roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        admitClient(clientId);
+        if (roomId != null && !bucket(roomBuckets, roomId, config.getRoomRatePerSecond(), config.getRoomBurst())
+                .tryAcquire()) {
+            throw reject(AdmissionRejectedException.Reason.ROOM_RATE_LIMITED, "För många bokningar av rummet just nu");
+        }
+        return withinConcurrencyLimit(() -> bookingSystem.bookRoom(roomId, startTime, endTime));
+    }
+
+    public boolean cancelBooking(String clientId, String bookingId) {
+        admitClient(clientId);
+        return withinConcurrencyLimit(() -> bookingSystem.cancelBooking(bookingId));
+    }
+
+    public List<Room> getAvailableRooms(String clientId, LocalDateTime startTime, LocalDateTime endTime) {
+        admitClient(clientId);
+        return withinConcurrencyLimit(() -> bookingSystem.getAvailableRooms(startTime, endTime));
+    }
+
+    public long getRejectedCount(AdmissionRejectedException.Reason reason) {
+        return rejections.get(reason).sum();
+    }
+
+    /**
+     * Drops buckets that have refilled completely. Meant to run periodically so that clients and
+     * rooms that have gone quiet do not keep a bucket each.
+     */
+    public void evictIdleBuckets() {
+        clientBuckets.values().removeIf(TokenBucket::isFull);
+        roomBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private void admitClient(String clientId) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("Klient-id kan inte vara null");
+        }
+        if (!bucket(clientBuckets, clientId, config.getClientRatePerSecond(), config.getClientBurst()).tryAcquire()) {
+            throw reject(AdmissionRejectedException.Reason.CLIENT_RATE_LIMITED, "För många anrop från klienten");
+        }
+    }
+
+    private TokenBucket bucket(Map<String, TokenBucket> buckets, String key, double ratePerSecond, int burst) {
+        TokenBucket bucket = buckets.get(key);
+        return bucket != null
+                ? bucket
+                : buckets.computeIfAbsent(key, id -> new TokenBucket(ratePerSecond, burst, nanoClock));
+    }
+
+    private <T> T withinConcurrencyLimit(Supplier<T> operation) {
+        boolean acquired;
+        try {
+            acquired = concurrencyLimiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw reject(AdmissionRejectedException.Reason.OVERLOADED, "Bokningssystemet är överbelastat");
+        }
+        try {
+            return operation.get();
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    private AdmissionRejectedException reject(AdmissionRejectedException.Reason reason, String message) {
+        rejections.get(reason).increment();
+        return new AdmissionRejectedException(reason, message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.admission;
+
+public class AdmissionRejectedException extends RuntimeException {
+    public enum Reason {
+        CLIENT_RATE_LIMITED,
+        ROOM_RATE_LIMITED,
+        OVERLOADED
+    }
+
+    private final Reason reason;
+
+    public AdmissionRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
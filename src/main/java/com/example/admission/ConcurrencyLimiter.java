@@ -0,0 +1,62 @@
+package com.example.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of operations running at once. Up to {@code maxQueued} callers may wait for a slot,
+ * each for at most the queue timeout; once that many are already waiting further callers are turned
+ * away immediately instead of joining the queue.
+ */
+public class ConcurrencyLimiter {
+    private final Semaphore running;
+    private final int maxAdmitted;
+    private final long queueTimeoutNanos;
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxConcurrent, int maxQueued, Duration queueTimeout) {
+        if (maxConcurrent <= 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("Samtidighetsgränsen måste vara positiv och kön får inte vara negativ");
+        }
+        this.running = new Semaphore(maxConcurrent);
+        this.maxAdmitted = maxConcurrent + maxQueued;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * Returns true when the caller holds a slot and must call {@link #release()} afterwards.
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        int current;
+        do {
+            current = admitted.get();
+            if (current >= maxAdmitted) {
+                return false;
+            }
+        } while (!admitted.compareAndSet(current, current + 1));
+
+        boolean acquired = false;
+        try {
+            acquired = running.tryAcquire() || running.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+            return acquired;
+        } finally {
+            if (!acquired) {
+                admitted.decrementAndGet();
+            }
+        }
+    }
+
+    public void release() {
+        running.release();
+        admitted.decrementAndGet();
+    }
+
+    /**
+     * Operations that are running or waiting for a slot.
+     */
+    public int getAdmitted() {
+        return admitted.get();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. Instead of a token count and a refill timestamp the bucket keeps a single
+ * value, the time at which it would be full again, so taking a token is one compare-and-set. A
+ * bucket that refills {@code ratePerSecond} tokens per second and holds at most {@code burst}
+ * tokens admits a request when that time is no more than {@code burst} token intervals ahead.
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Takt och burst måste vara positiva");
+        }
+        this.nanosPerToken = Math.max(1, (long) (NANOS_PER_SECOND / ratePerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped and recreated on demand.
+     */
+    public boolean isFull() {
+        return fullAt.get() <= nanoClock.getAsLong();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.bulk;
+
+import com.example.Booking;
+import com.example.BookingSystem;
+import com.example.Room;
+import com.example.RoomRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Imports bookings in bulk, for example when migrating from another calendar. The bookings of each
+ * room are sorted by start time and checked in one sweep instead of one availability check per
+ * booking against everything loaded so far.
+ *
+ * <p>Overlap follows {@link Booking#overlaps}: bookings that share an end point conflict. Bookings
+ * already in a room always win. Among the imported ones the earliest start wins, and a later booking
+ * that overlaps it is reported instead of loaded. A booking whose id is already in use, by an
+ * existing booking or earlier in the same import, is reported as a duplicate.
+ *
+ * <p>The sweep runs inside {@link BookingSystem#addImportedBookings} while the rooms are locked, so
+ * it is safe against live bookings. The accepted bookings are published to the booking system's
+ * listeners, so the event log and the reporting aggregates include them.
+ */
+public class BookingImporter {
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::getStartTime)
+            .thenComparing(Booking::getEndTime)
+            .thenComparing(Booking::getId);
+
+    private final RoomRepository roomRepository;
+    private final BookingSystem bookingSystem;
+
+    public BookingImporter(RoomRepository roomRepository, BookingSystem bookingSystem) {
+        if (roomRepository == null || bookingSystem == null) {
+            throw new IllegalArgumentException("Repository och bokningssystem krävs");
+        }
+        this.roomRepository = roomRepository;
+        this.bookingSystem = bookingSystem;
+    }
+
+    public ImportReport importBookings(Collection<Booking> bookings) {
+        if (bookings == null) {
+            throw new IllegalArgumentException("Bokningar kan inte vara null");
+        }
+
+        List<ImportConflict> conflicts = new ArrayList<>();
+        Map<String, Booking> bookingsById = new HashMap<>();
+        roomRepository.forEachRoom(room -> {
+            for (Booking existing : room.getBookings()) {
+                bookingsById.put(existing.getId(), existing);
+            }
+        });
+        Map<String, List<Booking>> byRoom = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getStartTime() == null || booking.getEndTime() == null
+                    || booking.getEndTime().isBefore(booking.getStartTime())) {
+                conflicts.add(new ImportConflict(booking, ImportConflict.Reason.INVALID_INTERVAL, null));
+                continue;
+            }
+            Booking sameId = bookingsById.putIfAbsent(booking.getId(), booking);
+            if (sameId != null) {
+                conflicts.add(new ImportConflict(booking, ImportConflict.Reason.DUPLICATE_ID, sameId));
+            } else {
+                byRoom.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>()).add(booking);
+            }
+        }
+
+        Map<Room, List<Booking>> candidatesByRoom = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Booking>> entry : byRoom.entrySet()) {
+            Optional<Room> room = Optional.ofNullable(entry.getKey()).flatMap(roomRepository::findById);
+            if (room.isEmpty()) {
+                entry.getValue().forEach(booking ->
+                        conflicts.add(new ImportConflict(booking, ImportConflict.Reason.UNKNOWN_ROOM, null)));
+            } else {
+                candidatesByRoom.put(room.get(), entry.getValue());
+            }
+        }
+
+        int imported = bookingSystem.addImportedBookings(candidatesByRoom.keySet(),
+                room -> sweep(room, candidatesByRoom.get(room), conflicts));
+        return new ImportReport(imported, conflicts);
+    }
+
+    /**
+     * Returns the incoming bookings that overlap neither an existing booking nor an earlier accepted
+     * one. Accepted bookings never overlap each other, so sorted by start they are also sorted by end
+     * and only the last accepted one can overlap the next candidate. Existing bookings are found by
+     * binary search on their start times. Runs while the room is locked.
+     */
+    private static List<Booking> sweep(Room room, List<Booking> incoming, List<ImportConflict> conflicts) {
+        Booking[] existing = room.getBookings().toArray(new Booking[0]);
+        Arrays.sort(existing, BY_START);
+        // Den befintliga bokning som slutar senast fram till och med varje index
+        Booking[] latestEnding = latestEndingPrefix(existing);
+
+        incoming.sort(BY_START);
+        List<Booking> accepted = new ArrayList<>();
+        Booking lastAccepted = null;
+        for (Booking booking : incoming) {
+            Booking clash = existingOverlap(existing, latestEnding, booking);
+            if (clash != null) {
+                conflicts.add(new ImportConflict(booking, ImportConflict.Reason.OVERLAPS_EXISTING, clash));
+            } else if (lastAccepted != null && lastAccepted.overlaps(booking.getStartTime(), booking.getEndTime())) {
+                conflicts.add(new ImportConflict(booking, ImportConflict.Reason.OVERLAPS_IMPORTED, lastAccepted));
+            } else {
+                accepted.add(booking);
+                lastAccepted = booking;
+            }
+        }
+        return accepted;
+    }
+
+    private static Booking[] latestEndingPrefix(Booking[] sorted) {
+        Booking[] latest = new Booking[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            latest[i] = i == 0 || sorted[i].getEndTime().isAfter(latest[i - 1].getEndTime())
+                    ? sorted[i]
+                    : latest[i - 1];
+        }
+        return latest;
+    }
+
+    /**
+     * Among the existing bookings that start no later than the candidate ends, the one ending last
+     * is the only one that needs checking.
+     */
+    private static Booking existingOverlap(Booking[] existing, Booking[] latestEnding, Booking booking) {
+        int low = 0;
+        int high = existing.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (existing[mid].getStartTime().isAfter(booking.getEndTime())) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (low == 0) {
+            return null;
+        }
+        Booking candidate = latestEnding[low - 1];
+        return candidate.overlaps(booking.getStartTime(), booking.getEndTime()) ? candidate : null;
+    }
+}
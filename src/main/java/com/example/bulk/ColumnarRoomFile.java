@@ -0,0 +1,105 @@
+package com.example.bulk;
+
+import com.example.Booking;
+import com.example.Equipment;
+import com.example.Room;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rooms and their bookings in a columnar layout. Every column has a fixed position that can
+ * be computed from the header, and string columns carry an offset table, so readers can decode any
+ * range of rows independently of the others.
+ *
+ * <pre>
+ * int magic, int version, int roomCount, int bookingCount
+ * strings roomId[roomCount], strings roomName[roomCount]
+ * int capacity[roomCount], int floor[roomCount], long equipmentMask[roomCount]
+ * int bookingRoomIndex[bookingCount], strings bookingId[bookingCount]
+ * long startSeconds[bookingCount], int startNanos[bookingCount]
+ * long endSeconds[bookingCount], int endNanos[bookingCount]
+ * </pre>
+ * A string column is {@code int offsets[count + 1]} followed by the UTF-8 bytes.
+ */
+public final class ColumnarRoomFile {
+    static final int MAGIC = 0x52434F4C;
+    static final int FORMAT_VERSION = 2;
+
+    private ColumnarRoomFile() {
+    }
+
+    public static void write(Path file, List<Room> rooms) throws IOException {
+        Map<String, Integer> roomIndexes = new HashMap<>(rooms.size() * 2);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            roomIndexes.put(room.getId(), i);
+            bookings.addAll(room.getBookings());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(rooms.size());
+            out.writeInt(bookings.size());
+
+            writeStrings(out, rooms.stream().map(Room::getId).toList());
+            writeStrings(out, rooms.stream().map(Room::getName).toList());
+            for (Room room : rooms) {
+                out.writeInt(room.getCapacity());
+            }
+            for (Room room : rooms) {
+                out.writeInt(room.getFloor());
+            }
+            for (Room room : rooms) {
+                out.writeLong(Equipment.toMask(room.getEquipment()));
+            }
+            for (Booking booking : bookings) {
+                out.writeInt(roomIndexes.get(booking.getRoomId()));
+            }
+            writeStrings(out, bookings.stream().map(Booking::getId).toList());
+            for (Booking booking : bookings) {
+                out.writeLong(booking.getStartTime().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (Booking booking : bookings) {
+                out.writeInt(booking.getStartTime().getNano());
+            }
+            for (Booking booking : bookings) {
+                out.writeLong(booking.getEndTime().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (Booking booking : bookings) {
+                out.writeInt(booking.getEndTime().getNano());
+            }
+        }
+    }
+
+    static LocalDateTime toDateTime(long epochSecond, int nanos) {
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        List<byte[]> encoded = new ArrayList<>(values.size());
+        int offset = 0;
+        out.writeInt(offset);
+        for (String value : values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            offset += bytes.length;
+            out.writeInt(offset);
+        }
+        for (byte[] bytes : encoded) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bulk;
+
+import com.example.Booking;
+
+public class ImportConflict {
+    public enum Reason {
+        OVERLAPS_EXISTING,
+        OVERLAPS_IMPORTED,
+        UNKNOWN_ROOM,
+        INVALID_INTERVAL,
+        DUPLICATE_ID
+    }
+
+    private final Booking booking;
+    private final Reason reason;
+    private final Booking conflictingBooking;
+
+    public ImportConflict(Booking booking, Reason reason, Booking conflictingBooking) {
+        this.booking = booking;
+        this.reason = reason;
+        this.conflictingBooking = conflictingBooking;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * The booking this one overlaps or shares its id with, or {@code null} for the other reasons.
+     */
+    public Booking getConflictingBooking() {
+        return conflictingBooking;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.bulk;
+
+import java.util.List;
+
+public class ImportReport {
+    private final int importedCount;
+    private final List<ImportConflict> conflicts;
+
+    public ImportReport(int importedCount, List<ImportConflict> conflicts) {
+        this.importedCount = importedCount;
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public List<ImportConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+}
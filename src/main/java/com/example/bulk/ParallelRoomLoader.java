@@ -0,0 +1,212 @@
+package com.example.bulk;
+
+import com.example.Booking;
+import com.example.Equipment;
+import com.example.Room;
+import com.example.RoomRepository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a {@link ColumnarRoomFile} into a repository. The file is memory-mapped and split into room
+ * ranges; each thread decodes its rooms and their bookings directly from the mapped columns and
+ * stores them with a single {@link RoomRepository#saveAll} call.
+ */
+public class ParallelRoomLoader {
+    private final RoomRepository roomRepository;
+    private final int threads;
+
+    public ParallelRoomLoader(RoomRepository roomRepository, int threads) {
+        if (roomRepository == null) {
+            throw new IllegalArgumentException("Repository kan inte vara null");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Antal trådar måste vara positivt");
+        }
+        this.roomRepository = roomRepository;
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the number of rooms that were loaded.
+     */
+    public int load(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Filen är för stor för att mappas: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != ColumnarRoomFile.MAGIC || buffer.getInt(4) != ColumnarRoomFile.FORMAT_VERSION) {
+            throw new IOException("Ogiltig kolumnfil " + file);
+        }
+        Columns columns = new Columns(buffer, buffer.getInt(8), buffer.getInt(12));
+        int[] bookingOrder = groupBookingsByRoom(columns);
+
+        int partitions = Math.min(columns.roomCount, threads * 4);
+        if (partitions == 0) {
+            return 0;
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> results = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int from = (int) ((long) columns.roomCount * partition / partitions);
+                int to = (int) ((long) columns.roomCount * (partition + 1) / partitions);
+                results.add(executor.submit(() -> roomRepository.saveAll(decodeRooms(columns, bookingOrder, from, to))));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Inläsningen avbröts", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Kunde inte läsa in rum från " + file, e.getCause());
+        }
+        return columns.roomCount;
+    }
+
+    /**
+     * Counting sort of the booking rows by room index. Rows for room {@code r} end up in
+     * {@code order[roomStart[r] .. roomStart[r + 1]]}, where roomStart is stored first in the array.
+     */
+    private static int[] groupBookingsByRoom(Columns columns) {
+        int roomCount = columns.roomCount;
+        int bookingCount = columns.bookingCount;
+        int[] grouped = new int[roomCount + 1 + bookingCount];
+        for (int row = 0; row < bookingCount; row++) {
+            grouped[columns.bookingRoomIndex(row) + 1]++;
+        }
+        for (int room = 0; room < roomCount; room++) {
+            grouped[room + 1] += grouped[room];
+        }
+        int[] next = new int[roomCount];
+        System.arraycopy(grouped, 0, next, 0, roomCount);
+        for (int row = 0; row < bookingCount; row++) {
+            int room = columns.bookingRoomIndex(row);
+            grouped[roomCount + 1 + next[room]++] = row;
+        }
+        return grouped;
+    }
+
+    private static List<Room> decodeRooms(Columns columns, int[] grouped, int from, int to) {
+        int bookingsStart = columns.roomCount + 1;
+        List<Room> rooms = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            Room room = new Room(columns.roomId(index), columns.roomName(index), columns.capacity(index),
+                    columns.floor(index), Equipment.fromMask(columns.equipmentMask(index)));
+            for (int i = grouped[index]; i < grouped[index + 1]; i++) {
+                int row = grouped[bookingsStart + i];
+                room.addBooking(new Booking(columns.bookingId(row), room.getId(),
+                        ColumnarRoomFile.toDateTime(columns.startSeconds(row), columns.startNanos(row)),
+                        ColumnarRoomFile.toDateTime(columns.endSeconds(row), columns.endNanos(row))));
+            }
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    private static class Columns {
+        private final ByteBuffer buffer;
+        private final int roomCount;
+        private final int bookingCount;
+        private final int roomIds;
+        private final int roomNames;
+        private final int capacities;
+        private final int floors;
+        private final int equipmentMasks;
+        private final int bookingRoomIndexes;
+        private final int bookingIds;
+        private final int startSeconds;
+        private final int startNanos;
+        private final int endSeconds;
+        private final int endNanos;
+
+        Columns(ByteBuffer buffer, int roomCount, int bookingCount) {
+            this.buffer = buffer;
+            this.roomCount = roomCount;
+            this.bookingCount = bookingCount;
+            this.roomIds = 16;
+            this.roomNames = endOfStrings(roomIds, roomCount);
+            this.capacities = endOfStrings(roomNames, roomCount);
+            this.floors = capacities + roomCount * Integer.BYTES;
+            this.equipmentMasks = floors + roomCount * Integer.BYTES;
+            this.bookingRoomIndexes = equipmentMasks + roomCount * Long.BYTES;
+            this.bookingIds = bookingRoomIndexes + bookingCount * Integer.BYTES;
+            this.startSeconds = endOfStrings(bookingIds, bookingCount);
+            this.startNanos = startSeconds + bookingCount * Long.BYTES;
+            this.endSeconds = startNanos + bookingCount * Integer.BYTES;
+            this.endNanos = endSeconds + bookingCount * Long.BYTES;
+        }
+
+        String roomId(int index) {
+            return string(roomIds, roomCount, index);
+        }
+
+        String roomName(int index) {
+            return string(roomNames, roomCount, index);
+        }
+
+        int capacity(int index) {
+            return buffer.getInt(capacities + index * Integer.BYTES);
+        }
+
+        int floor(int index) {
+            return buffer.getInt(floors + index * Integer.BYTES);
+        }
+
+        long equipmentMask(int index) {
+            return buffer.getLong(equipmentMasks + index * Long.BYTES);
+        }
+
+        int bookingRoomIndex(int row) {
+            return buffer.getInt(bookingRoomIndexes + row * Integer.BYTES);
+        }
+
+        String bookingId(int row) {
+            return string(bookingIds, bookingCount, row);
+        }
+
+        long startSeconds(int row) {
+            return buffer.getLong(startSeconds + row * Long.BYTES);
+        }
+
+        int startNanos(int row) {
+            return buffer.getInt(startNanos + row * Integer.BYTES);
+        }
+
+        long endSeconds(int row) {
+            return buffer.getLong(endSeconds + row * Long.BYTES);
+        }
+
+        int endNanos(int row) {
+            return buffer.getInt(endNanos + row * Integer.BYTES);
+        }
+
+        private int endOfStrings(int column, int count) {
+            int offsetsSize = (count + 1) * Integer.BYTES;
+            return column + offsetsSize + buffer.getInt(column + count * Integer.BYTES);
+        }
+
+        private String string(int column, int count, int index) {
+            int start = buffer.getInt(column + index * Integer.BYTES);
+            int end = buffer.getInt(column + (index + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(column + (count + 1) * Integer.BYTES + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
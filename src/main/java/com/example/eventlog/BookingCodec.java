@@ -0,0 +1,29 @@
+package com.example.eventlog;
+
+import com.example.Booking;
+import com.example.DateTimeCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+final class BookingCodec {
+    private BookingCodec() {
+    }
+
+    static void writeBooking(DataOutput out, Booking booking) throws IOException {
+        out.writeUTF(booking.getId());
+        out.writeUTF(booking.getRoomId());
+        DateTimeCodec.write(out, booking.getStartTime());
+        DateTimeCodec.write(out, booking.getEndTime());
+    }
+
+    static Booking readBooking(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String roomId = in.readUTF();
+        LocalDateTime start = DateTimeCodec.read(in);
+        LocalDateTime end = DateTimeCodec.read(in);
+        return new Booking(id, roomId, start, end);
+    }
+}
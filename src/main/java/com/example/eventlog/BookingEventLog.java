@@ -0,0 +1,29 @@
+package com.example.eventlog;
+
+import com.example.BookingEvent;
+import com.example.BookingEventListener;
+
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of booking events. Positions are opaque to callers; they are only meant to be
+ * stored (for example in a snapshot) and handed back to {@link #replayFrom(long, Consumer)}.
+ */
+public interface BookingEventLog extends BookingEventListener {
+    void append(BookingEvent event);
+
+    /**
+     * Returns the position directly after the last appended event.
+     */
+    long position();
+
+    /**
+     * Replays every event after the given position and returns the position after the last one replayed.
+     */
+    long replayFrom(long position, Consumer<BookingEvent> consumer);
+
+    @Override
+    default void onEvent(BookingEvent event) {
+        append(event);
+    }
+}
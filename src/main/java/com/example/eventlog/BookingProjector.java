@@ -0,0 +1,88 @@
+package com.example.eventlog;
+
+import com.example.Booking;
+import com.example.BookingCancelled;
+import com.example.BookingEvent;
+import com.example.Room;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds rooms from the booking event log. The projector keeps its own copies of the rooms,
+ * so it can be caught up and snapshotted without touching the rooms the booking system uses.
+ */
+public class BookingProjector {
+    private final BookingEventLog eventLog;
+    private final Map<String, Room> rooms = new LinkedHashMap<>();
+    private long position;
+
+    private BookingProjector(BookingEventLog eventLog, Collection<Room> initialRooms, long position) {
+        this.eventLog = eventLog;
+        this.position = position;
+        initialRooms.forEach(room -> rooms.put(room.getId(), copyOf(room)));
+    }
+
+    /**
+     * Starts from the latest snapshot, or from the room catalog when there is none, and replays
+     * only the events written after it. A snapshot that points past the end of the log, for example
+     * because the log lost its tail in a crash, is ignored and the whole log is replayed instead.
+     */
+    public static BookingProjector recover(BookingEventLog eventLog,
+                                           RoomSnapshotStore snapshotStore,
+                                           Collection<Room> roomCatalog) throws IOException {
+        long logEnd = eventLog.position();
+        BookingProjector projector = snapshotStore.readLatest()
+                .filter(snapshot -> snapshot.getLogPosition() <= logEnd)
+                .map(snapshot -> new BookingProjector(eventLog, snapshot.getRooms(), snapshot.getLogPosition()))
+                .orElseGet(() -> new BookingProjector(eventLog, roomCatalog, 0));
+        projector.catchUp();
+        return projector;
+    }
+
+    public synchronized void catchUp() {
+        position = eventLog.replayFrom(position, this::apply);
+    }
+
+    public synchronized RoomSnapshot snapshot() {
+        catchUp();
+        return new RoomSnapshot(position, copyRooms());
+    }
+
+    public synchronized void writeSnapshot(RoomSnapshotStore snapshotStore) throws IOException {
+        snapshotStore.write(snapshot());
+    }
+
+    /**
+     * Returns fresh copies of the projected rooms, for example to seed a repository at startup.
+     */
+    public synchronized List<Room> copyRooms() {
+        List<Room> copies = new ArrayList<>(rooms.size());
+        rooms.values().forEach(room -> copies.add(copyOf(room)));
+        return copies;
+    }
+
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    private void apply(BookingEvent event) {
+        Booking booking = event.getBooking();
+        Room room = rooms.computeIfAbsent(booking.getRoomId(), id -> new Room(id, id));
+        if (event instanceof BookingCancelled) {
+            room.removeBooking(booking.getId());
+        } else {
+            room.addBooking(booking);
+        }
+    }
+
+    private static Room copyOf(Room room) {
+        Room copy = new Room(room.getId(), room.getName(), room.getCapacity(), room.getFloor(), room.getEquipment());
+        room.getBookings().forEach(copy::addBooking);
+        return copy;
+    }
+}
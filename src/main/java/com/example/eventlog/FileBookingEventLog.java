@@ -0,0 +1,208 @@
+package com.example.eventlog;
+
+import com.example.BookingCancelled;
+import com.example.BookingCreated;
+import com.example.BookingEvent;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary event log where each record is a length prefix and a CRC-32 followed by the event. The
+ * position of an event is its byte offset, so a snapshot can resume replay without scanning the log.
+ *
+ * <p>Appends are durable: {@link #append} returns only after the record has been forced to disk.
+ * Concurrent appenders share the force through group commit; whoever forces first covers every
+ * record written before it, and the others find their record already durable. On open the log is
+ * scanned from the latest snapshot's position, or from the start, and a torn or corrupt tail left
+ * by a crash is truncated, so replay always ends on a complete record and new appends never land
+ * behind damaged bytes.
+ */
+public class FileBookingEventLog implements BookingEventLog, AutoCloseable {
+    private static final byte BOOKING_CREATED = 1;
+    private static final byte BOOKING_CANCELLED = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int SCAN_BUFFER_BYTES = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Object forceLock = new Object();
+    private long position;
+    private volatile long durablePosition;
+
+    public FileBookingEventLog(Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * Opens the log and only verifies the records after {@code verifiedPosition}, typically the
+     * position of the latest snapshot. Such a position is always a durable record boundary, so the
+     * records before it need not be read again. A position past the end of the file is ignored and
+     * the whole log is verified.
+     */
+    public FileBookingEventLog(Path file, long verifiedPosition) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        long scanFrom = verifiedPosition >= 0 && verifiedPosition <= size ? verifiedPosition : 0;
+        long validEnd = scanValidEnd(channel, scanFrom);
+        if (validEnd < size) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        this.position = validEnd;
+        this.durablePosition = validEnd;
+    }
+
+    @Override
+    public void append(BookingEvent event) {
+        ByteBuffer record = ByteBuffer.wrap(encode(event));
+        long end;
+        synchronized (this) {
+            try {
+                long offset = position;
+                while (record.hasRemaining()) {
+                    offset += channel.write(record, offset);
+                }
+                position = offset;
+                end = offset;
+            } catch (IOException e) {
+                discardTornRecord();
+                throw new UncheckedIOException("Kunde inte skriva händelse till " + file, e);
+            }
+        }
+        awaitDurable(end);
+    }
+
+    @Override
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Replays up to the last record known to be on disk, never past it, so a snapshot taken from the
+     * returned position cannot point beyond what survives a power loss.
+     */
+    @Override
+    public long replayFrom(long from, Consumer<BookingEvent> consumer) {
+        long end = durablePosition;
+        long current = from;
+        try (FileChannel reader = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(reader.position(from))));
+            while (current < end) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (crc32(payload) != checksum) {
+                    throw new IOException("Trasig händelse vid position " + current);
+                }
+                consumer.accept(decode(payload));
+                current += HEADER_BYTES + length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Kunde inte läsa händelser från " + file, e);
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void discardTornRecord() {
+        try {
+            channel.truncate(position);
+        } catch (IOException e) {
+            // Öppningen trunkerar en halvskriven post ändå
+        }
+    }
+
+    private void awaitDurable(long end) {
+        synchronized (forceLock) {
+            if (durablePosition >= end) {
+                return;
+            }
+            long covered = position();
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Kunde inte tvinga händelser till disk i " + file, e);
+            }
+            durablePosition = covered;
+        }
+    }
+
+    /**
+     * Returns the offset directly after the last complete record from {@code from} whose checksum
+     * matches. The records are read in one sequential pass through a large buffer.
+     */
+    private static long scanValidEnd(FileChannel channel, long from) throws IOException {
+        long size = channel.size();
+        long offset = from;
+        // Strömmen stängs inte, det skulle stänga kanalen
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(from)), SCAN_BUFFER_BYTES));
+        while (size - offset >= HEADER_BYTES) {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length <= 0 || length > size - offset - HEADER_BYTES) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            if (crc32(payload) != checksum) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private static int crc32(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(BookingEvent event) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(96);
+            DataOutputStream out = new DataOutputStream(payload);
+            out.writeByte(event instanceof BookingCancelled ? BOOKING_CANCELLED : BOOKING_CREATED);
+            BookingCodec.writeBooking(out, event.getBooking());
+
+            byte[] bytes = payload.toByteArray();
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + bytes.length);
+            record.putInt(bytes.length).putInt(crc32(bytes)).put(bytes);
+            return record.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BookingEvent decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        return switch (type) {
+            case BOOKING_CREATED -> new BookingCreated(BookingCodec.readBooking(in));
+            case BOOKING_CANCELLED -> new BookingCancelled(BookingCodec.readBooking(in));
+            default -> throw new IOException("Okänd händelsetyp " + type);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.eventlog;
+
+import com.example.BookingEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class InMemoryBookingEventLog implements BookingEventLog {
+    private final List<BookingEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void append(BookingEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public synchronized long position() {
+        return events.size();
+    }
+
+    @Override
+    public long replayFrom(long position, Consumer<BookingEvent> consumer) {
+        List<BookingEvent> tail;
+        synchronized (this) {
+            tail = List.copyOf(events.subList((int) Math.min(position, events.size()), events.size()));
+        }
+        tail.forEach(consumer);
+        return position + tail.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class PeriodicSnapshotter implements AutoCloseable {
+    private final BookingProjector projector;
+    private final RoomSnapshotStore snapshotStore;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PeriodicSnapshotter(BookingProjector projector, RoomSnapshotStore snapshotStore, Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Intervall måste vara positivt");
+        }
+        this.projector = projector;
+        this.snapshotStore = snapshotStore;
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::writeSnapshot, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void writeSnapshot() {
+        try {
+            projector.writeSnapshot(snapshotStore);
+        } catch (IOException | UncheckedIOException e) {
+            // Nästa ögonblicksbild försöker igen, loggen är fortfarande komplett
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.eventlog;
+
+import com.example.Room;
+
+import java.util.Collection;
+import java.util.List;
+
+public class RoomSnapshot {
+    private final long logPosition;
+    private final List<Room> rooms;
+
+    public RoomSnapshot(long logPosition, Collection<Room> rooms) {
+        this.logPosition = logPosition;
+        this.rooms = List.copyOf(rooms);
+    }
+
+    public long getLogPosition() {
+        return logPosition;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.eventlog;
+
+import com.example.Booking;
+import com.example.Equipment;
+import com.example.Room;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class RoomSnapshotStore {
+    private static final int MAGIC = 0x524F4F4D;
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path file;
+
+    public RoomSnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it to disk and moves it into place, so a crash
+     * never leaves a half-written snapshot behind.
+     */
+    public void write(RoomSnapshot snapshot) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.getLogPosition());
+            out.writeInt(snapshot.getRooms().size());
+            for (Room room : snapshot.getRooms()) {
+                out.writeUTF(room.getId());
+                out.writeUTF(room.getName());
+                out.writeInt(room.getCapacity());
+                out.writeInt(room.getFloor());
+                out.writeLong(Equipment.toMask(room.getEquipment()));
+                Collection<Booking> bookings = room.getBookings();
+                out.writeInt(bookings.size());
+                for (Booking booking : bookings) {
+                    BookingCodec.writeBooking(out, booking);
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public Optional<RoomSnapshot> readLatest() throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Ogiltig ögonblicksbild " + file);
+            }
+            long logPosition = in.readLong();
+            int roomCount = in.readInt();
+            List<Room> rooms = new ArrayList<>(roomCount);
+            for (int i = 0; i < roomCount; i++) {
+                Room room = new Room(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(),
+                        Equipment.fromMask(in.readLong()));
+                int bookingCount = in.readInt();
+                for (int j = 0; j < bookingCount; j++) {
+                    room.addBooking(BookingCodec.readBooking(in));
+                }
+                rooms.add(room);
+            }
+            return Optional.of(new RoomSnapshot(logPosition, rooms));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.AvailableRooms")
+@Label("Available Rooms")
+@Category({"MockingExample", "Booking"})
+@Description("A call to BookingSystem.getAvailableRooms")
+public class AvailableRoomsEvent extends Event {
+    @Label("Rooms Scanned")
+    public int roomsScanned;
+
+    @Label("Bookings Scanned")
+    public int bookingsScanned;
+
+    @Label("Rooms Available")
+    public int roomsAvailable;
+
+    @Label("Outcome")
+    public String outcome = BookingOutcome.FAILED;
+}
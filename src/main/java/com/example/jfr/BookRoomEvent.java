@@ -0,0 +1,23 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.BookRoom")
+@Label("Book Room")
+@Category({"MockingExample", "Booking"})
+@Description("A call to BookingSystem.bookRoom")
+public class BookRoomEvent extends Event {
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Bookings Scanned")
+    @Description("Existing bookings in the room checked for overlap")
+    public int bookingsScanned;
+
+    @Label("Outcome")
+    public String outcome = BookingOutcome.FAILED;
+}
@@ -0,0 +1,14 @@
+package com.example.jfr;
+
+public final class BookingOutcome {
+    public static final String BOOKED = "BOOKED";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    private BookingOutcome() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.CancelBooking")
+@Label("Cancel Booking")
+@Category({"MockingExample", "Booking"})
+@Description("A call to BookingSystem.cancelBooking")
+public class CancelBookingEvent extends Event {
+    @Label("Booking Id")
+    public String bookingId;
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Rooms Scanned")
+    @Description("Rooms searched before the booking was found")
+    public int roomsScanned;
+
+    @Label("Outcome")
+    public String outcome = BookingOutcome.FAILED;
+}
@@ -0,0 +1,22 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.CartTotalPrice")
+@Label("Cart Total Price")
+@Category({"MockingExample", "Shop"})
+@Description("A call to ShoppingCart.getTotalPrice")
+public class CartTotalPriceEvent extends Event {
+    @Label("Lines")
+    public int lines;
+
+    @Label("Discounted Lines")
+    public int discountedLines;
+
+    @Label("Total")
+    public double total;
+}
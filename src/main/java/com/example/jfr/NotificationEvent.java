@@ -0,0 +1,25 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.Notification")
+@Label("Notification")
+@Category({"MockingExample", "Booking"})
+@Description("A booking or cancellation confirmation sent through the NotificationService")
+public class NotificationEvent extends Event {
+    @Label("Kind")
+    public String kind;
+
+    @Label("Booking Id")
+    public String bookingId;
+
+    @Label("Room Id")
+    public String roomId;
+
+    @Label("Outcome")
+    public String outcome = BookingOutcome.FAILED;
+}
@@ -0,0 +1,101 @@
+package com.example.payment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class BatchingLedgerWriter implements AutoCloseable {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    private static final long POLL_TIMEOUT_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private final PaymentLedger ledger;
+    private final int maxBatchSize;
+    private final BlockingQueue<PaymentRecord> queue = new LinkedBlockingQueue<>();
+    private final List<PaymentRecord> batch = new ArrayList<>();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public BatchingLedgerWriter(PaymentLedger ledger) {
+        this(ledger, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public BatchingLedgerWriter(PaymentLedger ledger, int maxBatchSize) {
+        if (ledger == null) {
+            throw new IllegalArgumentException("Ledger kan inte vara null");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batchstorlek måste vara positiv");
+        }
+        this.ledger = ledger;
+        this.maxBatchSize = maxBatchSize;
+        this.writerThread = Thread.ofPlatform()
+                .name("payment-ledger-writer")
+                .daemon()
+                .start(this::writeBatches);
+    }
+
+    public void submit(PaymentRecord record) {
+        if (!running) {
+            throw new IllegalStateException("Ledgern är stängd");
+        }
+        queue.add(record);
+    }
+
+    private void writeBatches() {
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PaymentRecord first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                }
+                ledger.appendAll(List.copyOf(batch));
+                batch.clear();
+            } catch (LedgerException e) {
+                if (!running) {
+                    return;
+                }
+                // Behåll batchen och försök igen
+                if (!pause()) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes every record submitted so far and stops the writer thread.
+     */
+    @Override
+    public void close() throws LedgerException {
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int unwritten = batch.size() + queue.size();
+        if (unwritten > 0) {
+            throw new LedgerException(unwritten + " betalningar kunde inte skrivas till ledgern");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.payment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only payment ledger backed by a file. Each call to {@link #appendAll(List)} is written
+ * with a single write and a single fsync, so batching the records commits them as a group.
+ * A batch that fails part-way is truncated away before the exception is thrown, so a retry never
+ * leaves duplicates after a half-written line; a torn last line left by a crash is dropped on open.
+ */
+public class FilePaymentLedger implements PaymentLedger, AutoCloseable {
+    private static final char SEPARATOR = ';';
+
+    private final Path file;
+    private final FileChannel channel;
+    private long end;
+    private boolean broken;
+
+    public FilePaymentLedger(Path file) throws LedgerException {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.end = lastCompleteLineEnd();
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new LedgerException("Kunde inte öppna ledgern " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void appendAll(List<PaymentRecord> records) throws LedgerException {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(records.size() * 96);
+        for (PaymentRecord record : records) {
+            lines.append(record.getTransactionId()).append(SEPARATOR)
+                    .append(record.getAmount().toPlainString()).append(SEPARATOR)
+                    .append(record.getStatus()).append(SEPARATOR)
+                    .append(record.getProcessedAt()).append('\n');
+        }
+        if (broken) {
+            throw new LedgerException("Ledgern " + file + " kunde inte återställas efter ett skrivfel");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        long position = end;
+        try {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            discardBatch();
+            throw new LedgerException("Kunde inte skriva till ledgern " + file, e);
+        }
+        end = position;
+    }
+
+    private void discardBatch() {
+        // Skär bort det som hann skrivas så att ett nytt försök inte lägger dubbletter efter en halv rad
+        try {
+            channel.truncate(end);
+            channel.force(false);
+        } catch (IOException e) {
+            broken = true;
+        }
+    }
+
+    private long lastCompleteLineEnd() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = channel.size();
+        while (position > 0) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            buffer.clear().limit(length);
+            long start = position - length;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("Ledgern krympte under läsning");
+                }
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            position = start;
+        }
+        return 0;
+    }
+
+    public List<PaymentRecord> readAll() throws LedgerException {
+        List<PaymentRecord> records = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+                records.add(new PaymentRecord(fields[0], new BigDecimal(fields[1]),
+                        PaymentStatus.valueOf(fields[2]), LocalDateTime.parse(fields[3])));
+            }
+        } catch (IOException e) {
+            throw new LedgerException("Kunde inte läsa ledgern " + file, e);
+        }
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws LedgerException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new LedgerException("Kunde inte stänga ledgern " + file, e);
+        }
+    }
+}
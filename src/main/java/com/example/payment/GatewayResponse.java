@@ -0,0 +1,19 @@
+package com.example.payment;
+
+public class GatewayResponse {
+    private final boolean success;
+    private final String transactionId;
+
+    public GatewayResponse(boolean success, String transactionId) {
+        this.success = success;
+        this.transactionId = transactionId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+}
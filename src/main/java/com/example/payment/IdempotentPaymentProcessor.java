@@ -0,0 +1,130 @@
+package com.example.payment;
+
+import com.example.TimeProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Returns the in-flight or completed result when a payment is retried with the same idempotency key,
+ * so that retries never charge twice. Keys are kept for a fixed time and at most {@code maxEntries}
+ * keys are remembered. Payments the gateway failed to charge are forgotten so they can be retried, while a
+ * {@link PaymentNotRecordedException} keeps the key because the charge already went through.
+ * Every caller gets its own copy of the shared result, so completing or cancelling it affects no
+ * other caller and not the cached outcome.
+ */
+public class IdempotentPaymentProcessor {
+    private final PaymentProcessor paymentProcessor;
+    private final TimeProvider timeProvider;
+    private final Duration timeToLive;
+    private final Map<String, Entry> entries;
+
+    public IdempotentPaymentProcessor(PaymentProcessor paymentProcessor,
+                                      TimeProvider timeProvider,
+                                      int maxEntries,
+                                      Duration timeToLive) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Antal nycklar måste vara positivt");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Livslängd måste vara positiv");
+        }
+        this.paymentProcessor = paymentProcessor;
+        this.timeProvider = timeProvider;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public CompletableFuture<PaymentRecord> processPayment(String idempotencyKey, BigDecimal amount) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Idempotensnyckel kan inte vara tom");
+        }
+
+        LocalDateTime now = timeProvider.getCurrentTime();
+        Entry entry;
+        synchronized (entries) {
+            evictExpired(now);
+            Entry existing = entries.get(idempotencyKey);
+            if (existing != null) {
+                if (existing.amount.compareTo(amount) != 0) {
+                    throw new IllegalArgumentException("Idempotensnyckeln används redan för ett annat belopp");
+                }
+                return existing.result.copy();
+            }
+            entry = new Entry(amount, now.plus(timeToLive));
+            entries.put(idempotencyKey, entry);
+        }
+
+        CompletableFuture<PaymentRecord> payment;
+        try {
+            payment = paymentProcessor.processPayment(amount);
+        } catch (RuntimeException e) {
+            forget(idempotencyKey, entry);
+            throw e;
+        }
+        payment.whenComplete((record, failure) -> {
+            if (failure != null) {
+                // Bara en misslyckad debitering får göras om; har betaltjänsten debiterat ligger nyckeln kvar
+                if (!(unwrap(failure) instanceof PaymentNotRecordedException)) {
+                    forget(idempotencyKey, entry);
+                }
+                entry.result.completeExceptionally(failure);
+            } else {
+                entry.result.complete(record);
+            }
+        });
+        return entry.result.copy();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictExpired(LocalDateTime now) {
+        // Posterna ligger i insättningsordning och har samma livslängd, så de äldsta går ut först
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt.isAfter(now)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    private void forget(String idempotencyKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(idempotencyKey, entry);
+        }
+    }
+
+    private static class Entry {
+        private final BigDecimal amount;
+        private final LocalDateTime expiresAt;
+        private final CompletableFuture<PaymentRecord> result = new CompletableFuture<>();
+
+        Entry(BigDecimal amount, LocalDateTime expiresAt) {
+            this.amount = amount;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.payment;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InMemoryPaymentGateway implements PaymentGateway {
+    private final BigDecimal approvalLimit;
+    private final AtomicInteger chargeCount = new AtomicInteger();
+
+    public InMemoryPaymentGateway() {
+        this(null);
+    }
+
+    public InMemoryPaymentGateway(BigDecimal approvalLimit) {
+        this.approvalLimit = approvalLimit;
+    }
+
+    @Override
+    public CompletableFuture<GatewayResponse> charge(BigDecimal amount) {
+        chargeCount.incrementAndGet();
+        boolean approved = approvalLimit == null || amount.compareTo(approvalLimit) <= 0;
+        return CompletableFuture.completedFuture(new GatewayResponse(approved, UUID.randomUUID().toString()));
+    }
+
+    public int getChargeCount() {
+        return chargeCount.get();
+    }
+}
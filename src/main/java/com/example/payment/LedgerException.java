@@ -0,0 +1,11 @@
+package com.example.payment;
+
+public class LedgerException extends Exception {
+    public LedgerException(String message) {
+        super(message);
+    }
+
+    public LedgerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.payment;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentGateway {
+    CompletableFuture<GatewayResponse> charge(BigDecimal amount);
+}
@@ -0,0 +1,7 @@
+package com.example.payment;
+
+import java.util.List;
+
+public interface PaymentLedger {
+    void appendAll(List<PaymentRecord> records) throws LedgerException;
+}
@@ -0,0 +1,18 @@
+package com.example.payment;
+
+/**
+ * Thrown when the gateway has charged the payment but it could not be handed to the ledger.
+ * The charge must not be retried; the transaction id identifies it for manual reconciliation.
+ */
+public class PaymentNotRecordedException extends RuntimeException {
+    private final String transactionId;
+
+    public PaymentNotRecordedException(String transactionId, Throwable cause) {
+        super("Betalningen " + transactionId + " genomfördes men kunde inte registreras", cause);
+        this.transactionId = transactionId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+}
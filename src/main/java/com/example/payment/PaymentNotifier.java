@@ -0,0 +1,7 @@
+package com.example.payment;
+
+import com.example.NotificationException;
+
+public interface PaymentNotifier {
+    void sendPaymentConfirmation(PaymentRecord record) throws NotificationException;
+}
@@ -1,23 +1,112 @@
 package com.example.payment;
 
-//public class PaymentProcessor {
-//    private static final String API_KEY = "sk_test_123456";
-//
-//    public boolean processPayment(double amount) {
-//        // Anropar extern betaltjänst direkt med statisk API-nyckel
-//        PaymentApiResponse response = PaymentApi.charge(API_KEY, amount);
-//
-//        // Skriver till databas direkt
-//        if (response.isSuccess()) {
-//            DatabaseConnection.getInstance()
-//                    .executeUpdate("INSERT INTO payments (amount, status) VALUES (" + amount + ", 'SUCCESS')");
-//        }
-//
-//        // Skickar e-post direkt
-//        if (response.isSuccess()) {
-//            EmailService.sendPaymentConfirmation("user@example.com", amount);
-//        }
-//
-//        return response.isSuccess();
-//    }
-//}
+import com.example.NotificationException;
+import com.example.TimeProvider;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PaymentProcessor implements AutoCloseable {
+    private final PaymentGateway paymentGateway;
+    private final BatchingLedgerWriter ledgerWriter;
+    private final PaymentNotifier paymentNotifier;
+    private final TimeProvider timeProvider;
+    private final ExecutorService notificationExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Object lifecycle = new Object();
+    private int inFlight;
+    private boolean closed;
+
+    public PaymentProcessor(PaymentGateway paymentGateway,
+                            PaymentLedger paymentLedger,
+                            PaymentNotifier paymentNotifier,
+                            TimeProvider timeProvider) {
+        this.paymentGateway = paymentGateway;
+        this.ledgerWriter = new BatchingLedgerWriter(paymentLedger);
+        this.paymentNotifier = paymentNotifier;
+        this.timeProvider = timeProvider;
+    }
+
+    public CompletableFuture<PaymentRecord> processPayment(BigDecimal amount) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Beloppet måste vara större än noll");
+        }
+
+        synchronized (lifecycle) {
+            // Kontrolleras före debiteringen så att en stängd processor aldrig drar pengar
+            if (closed) {
+                throw new IllegalStateException("Betalningsprocessorn är stängd");
+            }
+            inFlight++;
+        }
+
+        CompletableFuture<GatewayResponse> charge;
+        try {
+            charge = paymentGateway.charge(amount);
+        } catch (RuntimeException e) {
+            finished();
+            throw e;
+        }
+        return charge.thenApply(response -> {
+            try {
+                return record(response, amount);
+            } catch (RuntimeException e) {
+                // Betaltjänsten har redan svarat, så felet får inte se ut som att debiteringen misslyckades
+                throw new PaymentNotRecordedException(response.getTransactionId(), e);
+            }
+        }).whenComplete((record, failure) -> finished());
+    }
+
+    private void finished() {
+        synchronized (lifecycle) {
+            inFlight--;
+            lifecycle.notifyAll();
+        }
+    }
+
+    private PaymentRecord record(GatewayResponse response, BigDecimal amount) {
+        PaymentStatus status = response.isSuccess() ? PaymentStatus.SUCCESS : PaymentStatus.DECLINED;
+        PaymentRecord record = new PaymentRecord(response.getTransactionId(), amount, status,
+                timeProvider.getCurrentTime());
+
+        // Ledger och bekräftelse hanteras i bakgrunden så att anropet bara väntar på betaltjänsten
+        if (record.isSuccess()) {
+            ledgerWriter.submit(record);
+            notificationExecutor.execute(() -> sendConfirmation(record));
+        }
+        return record;
+    }
+
+    private void sendConfirmation(PaymentRecord record) {
+        try {
+            paymentNotifier.sendPaymentConfirmation(record);
+        } catch (NotificationException e) {
+            // Fortsätt även om notifieringen misslyckas
+        }
+    }
+
+    /**
+     * Rejects new payments, waits for the charges already sent to the gateway so that they reach
+     * the ledger, and then flushes the ledger.
+     */
+    @Override
+    public void close() throws LedgerException {
+        boolean interrupted = false;
+        synchronized (lifecycle) {
+            closed = true;
+            while (inFlight > 0) {
+                try {
+                    lifecycle.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        notificationExecutor.close();
+        ledgerWriter.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PaymentRecord {
+    private final String transactionId;
+    private final BigDecimal amount;
+    private final PaymentStatus status;
+    private final LocalDateTime processedAt;
+
+    public PaymentRecord(String transactionId, BigDecimal amount, PaymentStatus status, LocalDateTime processedAt) {
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.status = status;
+        this.processedAt = processedAt;
+    }
+
+    public boolean isSuccess() {
+        return status == PaymentStatus.SUCCESS;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.replication;
+
+import com.example.Booking;
+import com.example.Room;
+import com.example.RoomRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Compares a replica with its primary room by room. Meant for tests and for spot checks while the
+ * primary is quiet; under write traffic a lagging replica will naturally report differences.
+ */
+public final class ReplicaConsistencyCheck {
+    private ReplicaConsistencyCheck() {
+    }
+
+    /**
+     * Returns the ids of rooms that are missing on either side or differ in attributes or bookings,
+     * sorted by id. An empty list means the replica matches the primary.
+     */
+    public static List<String> differences(RoomRepository primary, RoomRepository replica) {
+        Map<String, Room> primaryRooms = byId(primary);
+        Map<String, Room> replicaRooms = byId(replica);
+        TreeSet<String> roomIds = new TreeSet<>(primaryRooms.keySet());
+        roomIds.addAll(replicaRooms.keySet());
+
+        List<String> differences = new ArrayList<>();
+        for (String roomId : roomIds) {
+            Room expected = primaryRooms.get(roomId);
+            Room actual = replicaRooms.get(roomId);
+            if (expected == null || actual == null || !sameRoom(expected, actual)) {
+                differences.add(roomId);
+            }
+        }
+        return differences;
+    }
+
+    private static Map<String, Room> byId(RoomRepository repository) {
+        Map<String, Room> rooms = new HashMap<>();
+        repository.forEachRoom(room -> rooms.put(room.getId(), room));
+        return rooms;
+    }
+
+    private static boolean sameRoom(Room expected, Room actual) {
+        return Objects.equals(expected.getName(), actual.getName())
+                && expected.getCapacity() == actual.getCapacity()
+                && expected.getFloor() == actual.getFloor()
+                && expected.getEquipment().equals(actual.getEquipment())
+                && sameBookings(expected, actual);
+    }
+
+    private static boolean sameBookings(Room expected, Room actual) {
+        Map<String, Booking> copies = new HashMap<>();
+        actual.getBookings().forEach(booking -> copies.put(booking.getId(), booking));
+        if (copies.size() != expected.getBookingCount()) {
+            return false;
+        }
+        for (Booking booking : expected.getBookings()) {
+            Booking copy = copies.get(booking.getId());
+            if (copy == null
+                    || !copy.getStartTime().equals(booking.getStartTime())
+                    || !copy.getEndTime().equals(booking.getEndTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
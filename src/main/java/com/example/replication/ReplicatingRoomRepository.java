@@ -0,0 +1,281 @@
+package com.example.replication;
+
+import com.example.Booking;
+import com.example.Room;
+import com.example.RoomCriteria;
+import com.example.RoomRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Primary side of replication. Wraps the repository the booking system writes to and, after every
+ * save, streams what changed in the room to the connected replicas: the whole room the first time
+ * it is seen, and afterwards only the added and removed bookings. A replica that connects late
+ * first receives every room in full. A replica that falls more than the queue capacity behind is
+ * disconnected rather than slowing down the writers; a new replica then has to connect to
+ * resynchronize.
+ */
+public class ReplicatingRoomRepository implements RoomRepository, AutoCloseable {
+    private static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final RoomRepository delegate;
+    private final int queueCapacity;
+    private final ServerSocket serverSocket;
+    private final Map<String, ShippedRoom> shipped = new HashMap<>();
+    private final List<ReplicaConnection> connections = new CopyOnWriteArrayList<>();
+    private final Thread acceptThread;
+    private long sequence;
+    private volatile boolean running = true;
+
+    public ReplicatingRoomRepository(RoomRepository delegate, InetSocketAddress bindAddress) throws IOException {
+        this(delegate, bindAddress, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ReplicatingRoomRepository(RoomRepository delegate, InetSocketAddress bindAddress,
+                                     int queueCapacity) throws IOException {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Repository kan inte vara null");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Kökapacitet måste vara positiv");
+        }
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(bindAddress);
+        delegate.forEachRoom(room -> shipped.put(room.getId(), ShippedRoom.of(room)));
+        this.acceptThread = Thread.ofPlatform()
+                .name("replication-accept")
+                .daemon()
+                .start(this::acceptReplicas);
+    }
+
+    @Override
+    public Optional<Room> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Room> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void save(Room room) {
+        delegate.save(room);
+        replicate(room);
+    }
+
+    @Override
+    public void saveAll(Collection<Room> rooms) {
+        delegate.saveAll(rooms);
+        rooms.forEach(this::replicate);
+    }
+
+    @Override
+    public void forEachRoom(Consumer<Room> action) {
+        delegate.forEachRoom(action);
+    }
+
+    @Override
+    public Stream<Room> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<Room> findMatching(RoomCriteria criteria) {
+        return delegate.findMatching(criteria);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Sequence number of the latest frame sent to the replicas.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public int getReplicaCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.forEach(ReplicaConnection::close);
+        try {
+            acceptThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void replicate(Room room) {
+        ShippedRoom previous = shipped.get(room.getId());
+        ShippedRoom current = ShippedRoom.of(room);
+        byte[] frame;
+        if (previous == null || !previous.hasSameAttributes(current)) {
+            frame = ReplicationCodec.fullRoom(++sequence, System.currentTimeMillis(), room, current.bookings.values());
+        } else {
+            List<Booking> added = new ArrayList<>();
+            current.bookings.forEach((id, booking) -> {
+                if (!previous.bookings.containsKey(id)) {
+                    added.add(booking);
+                }
+            });
+            List<String> removed = new ArrayList<>();
+            for (String id : previous.bookings.keySet()) {
+                if (!current.bookings.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+            if (added.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            frame = ReplicationCodec.roomDelta(++sequence, System.currentTimeMillis(), room.getId(), added, removed);
+        }
+        shipped.put(room.getId(), current);
+        for (ReplicaConnection connection : connections) {
+            connection.send(frame);
+        }
+    }
+
+    private void acceptReplicas() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                register(socket);
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the shipped room states and registers the replica while holding the same lock as
+     * {@link #replicate}, so every delta after the copy is queued for it. The copy is encoded and
+     * streamed by the replica's sender before it drains the queue, outside the lock.
+     */
+    private void register(Socket socket) {
+        ReplicaConnection connection;
+        synchronized (this) {
+            connection = new ReplicaConnection(socket, new ArrayList<>(shipped.values()), sequence);
+            connections.add(connection);
+        }
+        connection.start();
+    }
+
+    private static final class ShippedRoom {
+        private final Room room;
+        private final Map<String, Booking> bookings;
+
+        private ShippedRoom(Room room, Map<String, Booking> bookings) {
+            this.room = room;
+            this.bookings = bookings;
+        }
+
+        static ShippedRoom of(Room room) {
+            Map<String, Booking> bookings = new HashMap<>();
+            room.getBookings().forEach(booking -> bookings.put(booking.getId(), booking));
+            return new ShippedRoom(room, bookings);
+        }
+
+        boolean hasSameAttributes(ShippedRoom other) {
+            return Objects.equals(room.getName(), other.room.getName())
+                    && room.getCapacity() == other.room.getCapacity()
+                    && room.getFloor() == other.room.getFloor()
+                    && room.getEquipment().equals(other.room.getEquipment());
+        }
+    }
+
+    private final class ReplicaConnection {
+        private final Socket socket;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread senderThread;
+        private final long snapshotSequence;
+        private List<ShippedRoom> snapshot;
+        private volatile boolean open = true;
+
+        ReplicaConnection(Socket socket, List<ShippedRoom> snapshot, long snapshotSequence) {
+            this.socket = socket;
+            this.snapshot = snapshot;
+            this.snapshotSequence = snapshotSequence;
+            this.senderThread = Thread.ofVirtual().name("replication-sender").unstarted(this::sendFrames);
+        }
+
+        void start() {
+            senderThread.start();
+        }
+
+        void send(byte[] frame) {
+            if (open && !queue.offer(frame)) {
+                // Repliken ligger för långt efter, låt den ansluta och synka om
+                close();
+            }
+        }
+
+        void close() {
+            open = false;
+            connections.remove(this);
+            senderThread.interrupt();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Anslutningen stängs ändå
+            }
+        }
+
+        private void sendFrames() {
+            try (OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+                sendSnapshot(out);
+                while (open) {
+                    out.write(queue.take());
+                    byte[] next;
+                    while ((next = queue.poll()) != null) {
+                        out.write(next);
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                close();
+            } catch (InterruptedException e) {
+                close();
+            }
+        }
+
+        private void sendSnapshot(OutputStream out) throws IOException {
+            // Ögonblicksbilden skrivs direkt till socketen så att den inte begränsas av kökapaciteten
+            long sentAt = System.currentTimeMillis();
+            for (ShippedRoom state : snapshot) {
+                out.write(ReplicationCodec.fullRoom(snapshotSequence, sentAt, state.room, state.bookings.values()));
+            }
+            out.write(ReplicationCodec.snapshotComplete(snapshotSequence, sentAt));
+            out.flush();
+            snapshot = null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.replication;
+
+import com.example.Booking;
+import com.example.DateTimeCodec;
+import com.example.Equipment;
+import com.example.Room;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Wire format of the replication stream. Every frame starts with its type, the primary's sequence
+ * number and the primary's wall clock when the frame was produced. Bookings inside a room frame
+ * leave out the room id, which the frame already carries.
+ */
+final class ReplicationCodec {
+    static final byte FULL_ROOM = 1;
+    static final byte ROOM_DELTA = 2;
+    static final byte SNAPSHOT_COMPLETE = 3;
+
+    private ReplicationCodec() {
+    }
+
+    static byte[] fullRoom(long sequence, long sentAtMillis, Room room, Collection<Booking> bookings) {
+        return encode(out -> {
+            writeHeader(out, FULL_ROOM, sequence, sentAtMillis);
+            out.writeUTF(room.getId());
+            out.writeUTF(room.getName());
+            out.writeInt(room.getCapacity());
+            out.writeInt(room.getFloor());
+            out.writeLong(Equipment.toMask(room.getEquipment()));
+            writeBookings(out, bookings);
+        });
+    }
+
+    static byte[] roomDelta(long sequence, long sentAtMillis, String roomId,
+                            Collection<Booking> added, Collection<String> removedIds) {
+        return encode(out -> {
+            writeHeader(out, ROOM_DELTA, sequence, sentAtMillis);
+            out.writeUTF(roomId);
+            writeBookings(out, added);
+            out.writeInt(removedIds.size());
+            for (String bookingId : removedIds) {
+                out.writeUTF(bookingId);
+            }
+        });
+    }
+
+    static byte[] snapshotComplete(long sequence, long sentAtMillis) {
+        return encode(out -> writeHeader(out, SNAPSHOT_COMPLETE, sequence, sentAtMillis));
+    }
+
+    static Booking readBooking(DataInput in, String roomId) throws IOException {
+        String id = in.readUTF();
+        LocalDateTime start = DateTimeCodec.read(in);
+        LocalDateTime end = DateTimeCodec.read(in);
+        return new Booking(id, roomId, start, end);
+    }
+
+    private static void writeHeader(DataOutput out, byte type, long sequence, long sentAtMillis) throws IOException {
+        out.writeByte(type);
+        out.writeLong(sequence);
+        out.writeLong(sentAtMillis);
+    }
+
+    private static void writeBookings(DataOutput out, Collection<Booking> bookings) throws IOException {
+        out.writeInt(bookings.size());
+        for (Booking booking : bookings) {
+            out.writeUTF(booking.getId());
+            DateTimeCodec.write(out, booking.getStartTime());
+            DateTimeCodec.write(out, booking.getEndTime());
+        }
+    }
+
+    private static byte[] encode(FrameWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream kastar aldrig
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface FrameWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
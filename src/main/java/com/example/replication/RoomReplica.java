@@ -0,0 +1,177 @@
+package com.example.replication;
+
+import com.example.Booking;
+import com.example.Equipment;
+import com.example.InMemoryRoomRepository;
+import com.example.Room;
+import com.example.RoomRepository;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Replica side of replication. Applies the primary's stream to a local in-memory repository that
+ * a read-only {@link com.example.BookingSystem} can serve availability queries from.
+ *
+ * <p>The lag is the time from the primary producing a frame until the replica has applied it,
+ * measured with the wall clocks of both processes, so it is only meaningful when they run on the
+ * same host or have synchronized clocks. It is only updated when a frame arrives; an idle or dead
+ * primary leaves it unchanged, so check {@link #getLastFrameAt()} to tell how fresh the data is.
+ *
+ * <p>A replica does not reconnect. Once it is disconnected, by the primary, the network or because
+ * it fell behind, {@link #isConnected()} turns false and a new replica has to be connected to
+ * resynchronize.
+ */
+public class RoomReplica implements AutoCloseable {
+    private final InMemoryRoomRepository repository = new InMemoryRoomRepository();
+    private final Socket socket;
+    private final Thread readerThread;
+    private final Object progress = new Object();
+    private volatile long appliedSequence = -1;
+    private volatile long lagMillis;
+    private volatile long lastFrameMillis = -1;
+    private volatile boolean synchronizedWithPrimary;
+    private volatile boolean connected = true;
+
+    private RoomReplica(Socket socket) {
+        this.socket = socket;
+        this.readerThread = Thread.ofPlatform()
+                .name("replication-reader")
+                .daemon()
+                .unstarted(this::applyFrames);
+    }
+
+    public static RoomReplica connect(InetSocketAddress primary) throws IOException {
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(primary);
+        RoomReplica replica = new RoomReplica(socket);
+        replica.readerThread.start();
+        return replica;
+    }
+
+    public RoomRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Sequence number of the latest primary frame applied here, or -1 before the initial snapshot.
+     */
+    public long getAppliedSequence() {
+        return synchronizedWithPrimary ? appliedSequence : -1;
+    }
+
+    public Duration getLag() {
+        return Duration.ofMillis(lagMillis);
+    }
+
+    /**
+     * When the latest frame from the primary was applied, or empty before the first one.
+     */
+    public Optional<Instant> getLastFrameAt() {
+        long millis = lastFrameMillis;
+        return millis < 0 ? Optional.empty() : Optional.of(Instant.ofEpochMilli(millis));
+    }
+
+    public boolean isLagWithin(Duration maxLag) {
+        return connected && synchronizedWithPrimary && lagMillis <= maxLag.toMillis();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Waits until the replica has applied at least the given primary sequence number.
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (getAppliedSequence() < sequence) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0 || !connected) {
+                    return false;
+                }
+                progress.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        connected = false;
+        socket.close();
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyFrames() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                byte type = in.readByte();
+                long sequence = in.readLong();
+                long sentAtMillis = in.readLong();
+                switch (type) {
+                    case ReplicationCodec.FULL_ROOM -> applyFullRoom(in);
+                    case ReplicationCodec.ROOM_DELTA -> applyDelta(in);
+                    case ReplicationCodec.SNAPSHOT_COMPLETE -> synchronizedWithPrimary = true;
+                    default -> throw new IOException("Okänd replikeringsram: " + type);
+                }
+                long now = System.currentTimeMillis();
+                lagMillis = Math.max(0, now - sentAtMillis);
+                lastFrameMillis = now;
+                synchronized (progress) {
+                    appliedSequence = sequence;
+                    progress.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            // Primären har stängt anslutningen eller strömmen är trasig
+        } finally {
+            connected = false;
+            synchronized (progress) {
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void applyFullRoom(DataInputStream in) throws IOException {
+        String roomId = in.readUTF();
+        String name = in.readUTF();
+        int capacity = in.readInt();
+        int floor = in.readInt();
+        long equipmentMask = in.readLong();
+        Room room = new Room(roomId, name, capacity, floor, Equipment.fromMask(equipmentMask));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            room.addBooking(ReplicationCodec.readBooking(in, roomId));
+        }
+        repository.save(room);
+    }
+
+    private void applyDelta(DataInputStream in) throws IOException {
+        String roomId = in.readUTF();
+        Room room = repository.findById(roomId)
+                .orElseThrow(() -> new IOException("Delta för okänt rum: " + roomId));
+        int added = in.readInt();
+        for (int i = 0; i < added; i++) {
+            Booking booking = ReplicationCodec.readBooking(in, roomId);
+            room.addBooking(booking);
+        }
+        int removed = in.readInt();
+        for (int i = 0; i < removed; i++) {
+            room.removeBooking(in.readUTF());
+        }
+        repository.save(room);
+    }
+}
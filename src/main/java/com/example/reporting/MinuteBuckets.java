@@ -0,0 +1,50 @@
+package com.example.reporting;
+
+import java.util.Arrays;
+
+/**
+ * Booked minutes per bucket (a day or a week) in one int array. The array covers a contiguous
+ * range of bucket numbers starting at {@code base} and grows in either direction as needed.
+ */
+class MinuteBuckets {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long base;
+    private int[] minutes = new int[0];
+
+    void add(long bucket, int delta) {
+        ensureCovers(bucket);
+        minutes[(int) (bucket - base)] += delta;
+    }
+
+    /**
+     * Sums the buckets from {@code fromBucket} inclusive to {@code toBucket} exclusive.
+     */
+    long sum(long fromBucket, long toBucket) {
+        long from = Math.max(fromBucket, base);
+        long to = Math.min(toBucket, base + minutes.length);
+        long total = 0;
+        for (long bucket = from; bucket < to; bucket++) {
+            total += minutes[(int) (bucket - base)];
+        }
+        return total;
+    }
+
+    private void ensureCovers(long bucket) {
+        if (minutes.length == 0) {
+            base = bucket - INITIAL_CAPACITY / 2;
+            minutes = new int[INITIAL_CAPACITY];
+            return;
+        }
+        if (bucket < base) {
+            int shift = (int) Math.max(base - bucket, minutes.length);
+            int[] grown = new int[minutes.length + shift];
+            System.arraycopy(minutes, 0, grown, shift, minutes.length);
+            minutes = grown;
+            base -= shift;
+        } else if (bucket >= base + minutes.length) {
+            int needed = (int) (bucket - base + 1);
+            minutes = Arrays.copyOf(minutes, Math.max(needed, minutes.length * 2));
+        }
+    }
+}
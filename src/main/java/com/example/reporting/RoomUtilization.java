@@ -0,0 +1,32 @@
+package com.example.reporting;
+
+public class RoomUtilization {
+    private final String roomId;
+    private final long bookedMinutes;
+    private final long totalMinutes;
+
+    public RoomUtilization(String roomId, long bookedMinutes, long totalMinutes) {
+        this.roomId = roomId;
+        this.bookedMinutes = bookedMinutes;
+        this.totalMinutes = totalMinutes;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * Share of the period that was booked, between 0 and 1.
+     */
+    public double getRatio() {
+        return totalMinutes == 0 ? 0 : (double) bookedMinutes / totalMinutes;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.reporting;
+
+import com.example.Booking;
+import com.example.BookingCancelled;
+import com.example.BookingCreated;
+import com.example.BookingEvent;
+import com.example.BookingEventListener;
+import com.example.Room;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Booked minutes per room per day and per week, kept up to date from booking events. Reports
+ * read the buckets instead of walking every booking of every room. Weeks start on Monday, so a
+ * range query sums whole weeks from the week buckets and only the partial weeks at the edges from
+ * the day buckets.
+ */
+public class UtilizationAggregates implements BookingEventListener {
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    // LocalDate.ofEpochDay(0) är en torsdag
+    private static final long EPOCH_DAY_OF_FIRST_MONDAY = -3;
+
+    private final Map<String, RoomBuckets> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the bookings that already exist, for example at startup before the aggregates are
+     * registered as a listener.
+     */
+    public void addAll(Iterable<Room> existingRooms) {
+        for (Room room : existingRooms) {
+            rooms.computeIfAbsent(room.getId(), id -> new RoomBuckets());
+            room.getBookings().forEach(booking -> record(booking, 1));
+        }
+    }
+
+    @Override
+    public void onEvent(BookingEvent event) {
+        if (event instanceof BookingCreated) {
+            record(event.getBooking(), 1);
+        } else if (event instanceof BookingCancelled) {
+            record(event.getBooking(), -1);
+        }
+    }
+
+    /**
+     * Returns the utilization of the room from {@code from} inclusive to {@code to} exclusive.
+     */
+    public RoomUtilization utilization(String roomId, LocalDate from, LocalDate to) {
+        if (roomId == null) {
+            throw new IllegalArgumentException("Rum-id kan inte vara null");
+        }
+        long fromDay = validateRange(from, to);
+        long toDay = to.toEpochDay();
+        RoomBuckets buckets = rooms.get(roomId);
+        long booked = buckets == null ? 0 : buckets.sum(fromDay, toDay);
+        return new RoomUtilization(roomId, booked, (toDay - fromDay) * MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns up to {@code limit} rooms with the most booked minutes in the range, busiest first.
+     */
+    public List<RoomUtilization> busiestRooms(LocalDate from, LocalDate to, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Antalet rum kan inte vara negativt");
+        }
+        long fromDay = validateRange(from, to);
+        long toDay = to.toEpochDay();
+        long totalMinutes = (toDay - fromDay) * MINUTES_PER_DAY;
+        return rooms.entrySet().stream()
+                .map(entry -> new RoomUtilization(entry.getKey(), entry.getValue().sum(fromDay, toDay), totalMinutes))
+                .sorted(Comparator.comparingLong(RoomUtilization::getBookedMinutes).reversed()
+                        .thenComparing(RoomUtilization::getRoomId))
+                .limit(limit)
+                .toList();
+    }
+
+    private void record(Booking booking, int sign) {
+        RoomBuckets buckets = rooms.computeIfAbsent(booking.getRoomId(), id -> new RoomBuckets());
+        LocalDateTime start = booking.getStartTime();
+        LocalDateTime end = booking.getEndTime();
+        // Dela upp bokningen per dygn så att varje dag får sina egna minuter
+        while (start.isBefore(end)) {
+            LocalDateTime nextMidnight = start.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime sliceEnd = end.isBefore(nextMidnight) ? end : nextMidnight;
+            int minutes = (int) ChronoUnit.MINUTES.between(start, sliceEnd);
+            buckets.add(start.toLocalDate().toEpochDay(), sign * minutes);
+            start = sliceEnd;
+        }
+    }
+
+    private static long validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Datum kan inte vara null");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Slutdatum måste vara efter startdatum");
+        }
+        return from.toEpochDay();
+    }
+
+    private static long weekOf(long epochDay) {
+        return Math.floorDiv(epochDay - EPOCH_DAY_OF_FIRST_MONDAY, 7);
+    }
+
+    private static long firstDayOfWeek(long week) {
+        return week * 7 + EPOCH_DAY_OF_FIRST_MONDAY;
+    }
+
+    private static final class RoomBuckets {
+        private final MinuteBuckets days = new MinuteBuckets();
+        private final MinuteBuckets weeks = new MinuteBuckets();
+
+        synchronized void add(long epochDay, int minutes) {
+            days.add(epochDay, minutes);
+            weeks.add(weekOf(epochDay), minutes);
+        }
+
+        synchronized long sum(long fromDay, long toDay) {
+            long firstWholeWeek = weekOf(fromDay + 6);
+            long endWholeWeek = weekOf(toDay);
+            if (firstWholeWeek >= endWholeWeek) {
+                return days.sum(fromDay, toDay);
+            }
+            return days.sum(fromDay, firstDayOfWeek(firstWholeWeek))
+                    + weeks.sum(firstWholeWeek, endWholeWeek)
+                    + days.sum(firstDayOfWeek(endWholeWeek), toDay);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class BulkPricingEngine {
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    public BulkPricingEngine() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    public BulkPricingEngine(ForkJoinPool pool, int batchSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Computes the total price of every cart, in cents, using the prices in the given table.
+     * Products missing from the table keep their own price. The carts must not be modified
+     * while the computation is running.
+     */
+    public long[] computeTotalsInCents(List<ShoppingCart> carts, PriceTable priceTable) {
+        if (carts == null) {
+            throw new IllegalArgumentException("Carts cannot be null");
+        }
+        if (priceTable == null) {
+            throw new IllegalArgumentException("Price table cannot be null");
+        }
+        List<ShoppingCart> indexed = carts instanceof RandomAccess ? carts : new ArrayList<>(carts);
+        long[] totals = new long[indexed.size()];
+        if (!indexed.isEmpty()) {
+            pool.invoke(new PricingTask(indexed, priceTable, totals, 0, indexed.size(), batchSize));
+        }
+        return totals;
+    }
+
+    static long totalInCents(ShoppingCart cart, PriceTable priceTable) {
+        Map<Product, Integer> products = cart.getProductsView();
+
+        long subtotal = 0;
+        for (Map.Entry<Product, Integer> entry : products.entrySet()) {
+            subtotal = Math.addExact(subtotal,
+                    Math.multiplyExact(priceTable.priceInCents(entry.getKey()), entry.getValue()));
+        }
+
+        long productDiscounts = 0;
+        for (Map.Entry<Product, BigDecimal> entry : cart.getProductDiscountsView().entrySet()) {
+            // A discount can never exceed the (new) product price
+            long discount = Math.min(PriceTable.toCents(entry.getValue()), priceTable.priceInCents(entry.getKey()));
+            productDiscounts = Math.addExact(productDiscounts,
+                    Math.multiplyExact(discount, products.getOrDefault(entry.getKey(), 1)));
+        }
+
+        long net = subtotal - productDiscounts;
+        BigDecimal totalDiscount = cart.getTotalDiscount();
+        if (totalDiscount.compareTo(BigDecimal.ONE) == 0) {
+            return net;
+        }
+        return BigDecimal.valueOf(net).multiply(totalDiscount).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static class PricingTask extends RecursiveAction {
+        private final List<ShoppingCart> carts;
+        private final PriceTable priceTable;
+        private final long[] totals;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        PricingTask(List<ShoppingCart> carts, PriceTable priceTable, long[] totals, int from, int to, int batchSize) {
+            this.carts = carts;
+            this.priceTable = priceTable;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int i = from; i < to; i++) {
+                    totals[i] = totalInCents(carts.get(i), priceTable);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PricingTask(carts, priceTable, totals, from, middle, batchSize),
+                    new PricingTask(carts, priceTable, totals, middle, to, batchSize));
+        }
+    }
+}
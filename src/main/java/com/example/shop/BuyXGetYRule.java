@@ -0,0 +1,37 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+
+public class BuyXGetYRule implements DiscountRule {
+    private final String productName;
+    private final int buyQuantity;
+    private final int freeQuantity;
+
+    public BuyXGetYRule(String productName, int buyQuantity, int freeQuantity) {
+        if (productName == null || productName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product name cannot be null or empty");
+        }
+        if (buyQuantity <= 0 || freeQuantity <= 0) {
+            throw new IllegalArgumentException("Buy and free quantities must be positive");
+        }
+        this.productName = productName;
+        this.buyQuantity = buyQuantity;
+        this.freeQuantity = freeQuantity;
+    }
+
+    @Override
+    public Scope getScope() {
+        return Scope.PRODUCT;
+    }
+
+    @Override
+    public String getTarget() {
+        return productName;
+    }
+
+    @Override
+    public BigDecimal discountFor(Product product, BigDecimal unitPrice, int quantity) {
+        int freeItems = quantity / (buyQuantity + freeQuantity) * freeQuantity;
+        return unitPrice.multiply(BigDecimal.valueOf(freeItems));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+
+@FunctionalInterface
+public interface CartLineConsumer {
+    void accept(Product product, int quantity, BigDecimal discount);
+}
@@ -0,0 +1,41 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * An immutable copy of a cart's contents at a given version. The cart hands out the same
+ * snapshot until it is modified again.
+ */
+public class CartSnapshot {
+    private final long version;
+    private final Map<Product, Integer> products;
+    private final Map<Product, BigDecimal> productDiscounts;
+    private final BigDecimal totalDiscount;
+
+    CartSnapshot(long version,
+                 Map<Product, Integer> products,
+                 Map<Product, BigDecimal> productDiscounts,
+                 BigDecimal totalDiscount) {
+        this.version = version;
+        this.products = Map.copyOf(products);
+        this.productDiscounts = Map.copyOf(productDiscounts);
+        this.totalDiscount = totalDiscount;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<Product, Integer> getProducts() {
+        return products;
+    }
+
+    public Map<Product, BigDecimal> getProductDiscounts() {
+        return productDiscounts;
+    }
+
+    public BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
+}
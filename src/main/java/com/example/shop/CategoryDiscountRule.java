@@ -0,0 +1,39 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class CategoryDiscountRule implements DiscountRule {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final String category;
+    private final BigDecimal percent;
+
+    public CategoryDiscountRule(String category, BigDecimal percent) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be null or empty");
+        }
+        if (percent == null || percent.compareTo(BigDecimal.ZERO) < 0 || percent.compareTo(HUNDRED) > 0) {
+            throw new IllegalArgumentException("Percent must be between 0 and 100");
+        }
+        this.category = category;
+        this.percent = percent;
+    }
+
+    @Override
+    public Scope getScope() {
+        return Scope.CATEGORY;
+    }
+
+    @Override
+    public String getTarget() {
+        return category;
+    }
+
+    @Override
+    public BigDecimal discountFor(Product product, BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity))
+                .multiply(percent)
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+}
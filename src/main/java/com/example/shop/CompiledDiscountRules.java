@@ -0,0 +1,100 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of discount rules indexed by product name and category. Each cart line gets
+ * the single best discount among the rules that match it; rules do not stack.
+ */
+public class CompiledDiscountRules {
+    private static final DiscountRule[] NO_RULES = new DiscountRule[0];
+
+    private final Map<String, DiscountRule[]> rulesByProduct;
+    private final Map<String, DiscountRule[]> rulesByCategory;
+    private final int ruleCount;
+
+    private CompiledDiscountRules(Map<String, DiscountRule[]> rulesByProduct,
+                                  Map<String, DiscountRule[]> rulesByCategory,
+                                  int ruleCount) {
+        this.rulesByProduct = rulesByProduct;
+        this.rulesByCategory = rulesByCategory;
+        this.ruleCount = ruleCount;
+    }
+
+    public static CompiledDiscountRules compile(Collection<? extends DiscountRule> rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null");
+        }
+        Map<String, List<DiscountRule>> byProduct = new HashMap<>();
+        Map<String, List<DiscountRule>> byCategory = new HashMap<>();
+        for (DiscountRule rule : rules) {
+            if (rule == null) {
+                throw new IllegalArgumentException("Rule cannot be null");
+            }
+            Map<String, List<DiscountRule>> index = rule.getScope() == DiscountRule.Scope.PRODUCT ? byProduct : byCategory;
+            index.computeIfAbsent(rule.getTarget(), key -> new ArrayList<>()).add(rule);
+        }
+        return new CompiledDiscountRules(toArrays(byProduct), toArrays(byCategory), rules.size());
+    }
+
+    public static CompiledDiscountRules empty() {
+        return new CompiledDiscountRules(Map.of(), Map.of(), 0);
+    }
+
+    /**
+     * Sum of the rule discounts over the cart, each line evaluated net of its product discount.
+     */
+    public BigDecimal discountFor(ShoppingCart cart) {
+        if (cart == null) {
+            throw new IllegalArgumentException("Cart cannot be null");
+        }
+        Map<Product, BigDecimal> productDiscounts = cart.getProductDiscountsView();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Product, Integer> line : cart.getProductsView().entrySet()) {
+            Product product = line.getKey();
+            BigDecimal unitPrice = product.getPrice().subtract(productDiscounts.getOrDefault(product, BigDecimal.ZERO));
+            total = total.add(discountFor(product, unitPrice, line.getValue()));
+        }
+        return total;
+    }
+
+    /**
+     * The best rule discount for one line at the given unit price, capped at the line total.
+     */
+    public BigDecimal discountFor(Product product, BigDecimal unitPrice, int quantity) {
+        BigDecimal best = BigDecimal.ZERO;
+        best = bestOf(rulesByProduct.getOrDefault(product.getName(), NO_RULES), product, unitPrice, quantity, best);
+        if (product.getCategory() != null) {
+            best = bestOf(rulesByCategory.getOrDefault(product.getCategory(), NO_RULES),
+                    product, unitPrice, quantity, best);
+        }
+        BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        return best.min(lineTotal);
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static BigDecimal bestOf(DiscountRule[] rules, Product product, BigDecimal unitPrice, int quantity,
+                                     BigDecimal best) {
+        for (DiscountRule rule : rules) {
+            BigDecimal discount = rule.discountFor(product, unitPrice, quantity);
+            if (discount.compareTo(best) > 0) {
+                best = discount;
+            }
+        }
+        return best;
+    }
+
+    private static Map<String, DiscountRule[]> toArrays(Map<String, List<DiscountRule>> index) {
+        Map<String, DiscountRule[]> compiled = new HashMap<>(index.size() * 2);
+        index.forEach((key, rules) -> compiled.put(key, rules.toArray(NO_RULES)));
+        return compiled;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+
+public interface DiscountRule {
+    enum Scope {
+        PRODUCT,
+        CATEGORY
+    }
+
+    Scope getScope();
+
+    /**
+     * The product name or category name this rule is indexed under, depending on the scope.
+     */
+    String getTarget();
+
+    /**
+     * Returns the discount for a cart line. The unit price is the product's price net of any
+     * product discount already applied in the cart, and the result is capped at the line total.
+     */
+    BigDecimal discountFor(Product product, BigDecimal unitPrice, int quantity);
+}
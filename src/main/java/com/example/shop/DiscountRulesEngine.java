@@ -0,0 +1,49 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DiscountRulesEngine {
+    private final AtomicReference<CompiledDiscountRules> activeRules =
+            new AtomicReference<>(CompiledDiscountRules.empty());
+
+    /**
+     * Compiles the given promotions and swaps them in atomically. Carts being evaluated
+     * concurrently keep using the rule set they started with.
+     */
+    public void updateRules(Collection<? extends DiscountRule> rules) {
+        activeRules.set(CompiledDiscountRules.compile(rules));
+    }
+
+    public CompiledDiscountRules getActiveRules() {
+        return activeRules.get();
+    }
+
+    public BigDecimal calculateDiscount(ShoppingCart cart) {
+        return activeRules.get().discountFor(cart);
+    }
+
+    /**
+     * Prices the cart in one pass over its lines: each line is reduced by its product discount, then
+     * by the best matching rule evaluated on that net price, and the discount on the whole cart is
+     * applied last to the sum.
+     */
+    public BigDecimal calculateTotalPrice(ShoppingCart cart) {
+        if (cart == null) {
+            throw new IllegalArgumentException("Cart cannot be null");
+        }
+        CompiledDiscountRules rules = activeRules.get();
+        Map<Product, BigDecimal> productDiscounts = cart.getProductDiscountsView();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Product, Integer> line : cart.getProductsView().entrySet()) {
+            Product product = line.getKey();
+            int quantity = line.getValue();
+            BigDecimal unitPrice = product.getPrice().subtract(productDiscounts.getOrDefault(product, BigDecimal.ZERO));
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            total = total.add(lineTotal.subtract(rules.discountFor(product, unitPrice, quantity)));
+        }
+        return total.multiply(cart.getTotalDiscount()).max(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PriceTable {
+    private final Map<String, Long> pricesInCents;
+
+    public PriceTable(Map<String, BigDecimal> pricesByProductName) {
+        if (pricesByProductName == null) {
+            throw new IllegalArgumentException("Prices cannot be null");
+        }
+        Map<String, Long> converted = new HashMap<>();
+        pricesByProductName.forEach((name, price) -> {
+            if (name == null || price == null || price.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Price table entries cannot be null or negative");
+            }
+            converted.put(name, toCents(price));
+        });
+        this.pricesInCents = converted;
+    }
+
+    public static PriceTable empty() {
+        return new PriceTable(Map.of());
+    }
+
+    public long priceInCents(Product product) {
+        Long price = pricesInCents.get(product.getName());
+        return price != null ? price : toCents(product.getPrice());
+    }
+
+    public boolean containsProduct(String productName) {
+        return pricesInCents.containsKey(productName);
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+
+public class PricedLine {
+    private final Product product;
+    private final int quantity;
+    private final BigDecimal unitPrice;
+    private final BigDecimal unitDiscount;
+    private final BigDecimal lineTotal;
+
+    PricedLine(Product product, int quantity, BigDecimal unitDiscount) {
+        this.product = product;
+        this.quantity = quantity;
+        this.unitPrice = product.getPrice();
+        this.unitDiscount = unitDiscount;
+        this.lineTotal = unitPrice.subtract(unitDiscount).multiply(BigDecimal.valueOf(quantity));
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimal getUnitDiscount() {
+        return unitDiscount;
+    }
+
+    /**
+     * Price of the line after its product discount, before any discount on the whole order.
+     */
+    public BigDecimal getLineTotal() {
+        return lineTotal;
+    }
+}
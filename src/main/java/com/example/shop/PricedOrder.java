@@ -0,0 +1,66 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The priced result of checking out a cart. Lines and totals are computed together from one pass
+ * over the cart, so the grand total always equals the line totals with the order discount applied.
+ */
+public class PricedOrder {
+    private final long version;
+    private final List<PricedLine> lines;
+    private final BigDecimal subtotal;
+    private final BigDecimal productDiscountTotal;
+    private final BigDecimal orderDiscount;
+    private final BigDecimal grandTotal;
+
+    PricedOrder(long version, PricedLine[] lines, BigDecimal subtotal, BigDecimal productDiscountTotal,
+                BigDecimal orderDiscount, BigDecimal grandTotal) {
+        this.version = version;
+        this.lines = List.of(lines);
+        this.subtotal = subtotal;
+        this.productDiscountTotal = productDiscountTotal;
+        this.orderDiscount = orderDiscount;
+        this.grandTotal = grandTotal;
+    }
+
+    /**
+     * The cart version this order was priced from.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * The lines ordered by product name.
+     */
+    public List<PricedLine> getLines() {
+        return lines;
+    }
+
+    /**
+     * Sum of the lines at full price.
+     */
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public BigDecimal getProductDiscountTotal() {
+        return productDiscountTotal;
+    }
+
+    /**
+     * The part of the total removed by the discount on the whole cart.
+     */
+    public BigDecimal getOrderDiscount() {
+        return orderDiscount;
+    }
+
+    /**
+     * The amount to charge.
+     */
+    public BigDecimal getGrandTotal() {
+        return grandTotal;
+    }
+}
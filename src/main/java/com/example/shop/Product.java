@@ -6,8 +6,13 @@ import java.util.Objects;
 public class Product {
     private final String name;
     private final BigDecimal price;
+    private final String category;
 
     public Product(String name, BigDecimal price) {
+        this(name, price, null);
+    }
+
+    public Product(String name, BigDecimal price, String category) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be null or empty");
         }
@@ -16,6 +21,7 @@ public class Product {
         }
         this.name = name;
         this.price = price;
+        this.category = category;
     }
 
     public String getName() {
@@ -26,6 +32,13 @@ public class Product {
         return price;
     }
 
+    /**
+     * The category used by category-wide discount rules, or null. It is not part of the product's identity.
+     */
+    public String getCategory() {
+        return category;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,13 +1,23 @@
 package com.example.shop;
 
+import com.example.jfr.CartTotalPriceEvent;
+
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
 public class ShoppingCart {
     private final Map<Product, Integer> products = new HashMap<>();
     private final Map<Product, BigDecimal> productDiscounts = new HashMap<>();
+    private final Map<Product, Integer> productsView = Collections.unmodifiableMap(products);
+    private final Map<Product, BigDecimal> productDiscountsView = Collections.unmodifiableMap(productDiscounts);
     private BigDecimal totalDiscount = BigDecimal.valueOf(1);
+    private long version;
+    private CartSnapshot snapshot;
+    private PricedOrder pricedOrder;
 
     public void addProduct(Product product) {
         addProduct(product, 1);
@@ -21,6 +31,7 @@ public class ShoppingCart {
             throw new IllegalArgumentException("Quantity must be positive");
         }
         products.merge(product, quantity, Integer::sum);
+        version++;
     }
 
     public void removeProduct(Product product) {
@@ -29,6 +40,7 @@ public class ShoppingCart {
         }
         products.remove(product);
         productDiscounts.remove(product);
+        version++;
     }
 
     public int getItemCount() {
@@ -40,6 +52,9 @@ public class ShoppingCart {
     }
 
     public BigDecimal getTotalPrice() {
+        CartTotalPriceEvent event = new CartTotalPriceEvent();
+        event.begin();
+
         BigDecimal subtotal = products.entrySet().stream()
                 .map(entry -> entry.getKey().getPrice().multiply(BigDecimal.valueOf(entry.getValue())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -48,7 +63,15 @@ public class ShoppingCart {
                 .map(entry -> entry.getValue().multiply(BigDecimal.valueOf(products.getOrDefault(entry.getKey(), 1))))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        return subtotal.subtract(totalProductDiscounts).multiply(totalDiscount);
+        BigDecimal total = subtotal.subtract(totalProductDiscounts).multiply(totalDiscount);
+
+        if (event.shouldCommit()) {
+            event.lines = products.size();
+            event.discountedLines = productDiscounts.size();
+            event.total = total.doubleValue();
+            event.commit();
+        }
+        return total;
     }
 
     public void applyProductDiscount(Product product, BigDecimal discount) {
@@ -73,6 +96,7 @@ public class ShoppingCart {
         }
         
         productDiscounts.put(product, discount);
+        version++;
     }
 
     public void applyTotalDiscount(BigDecimal discount) {
@@ -92,6 +116,7 @@ public class ShoppingCart {
         }
         
         totalDiscount = totalDiscount.subtract(discount);
+        version++;
     }
 
     public Map<Product, Integer> getProducts() {
@@ -112,9 +137,77 @@ public class ShoppingCart {
         } else {
             products.put(product, quantity);
         }
+        version++;
     }
 
     public Map<Product, BigDecimal> getProductDiscounts() {
         return new HashMap<>(productDiscounts);
     }
+
+    public Map<Product, Integer> getProductsView() {
+        return productsView;
+    }
+
+    public Map<Product, BigDecimal> getProductDiscountsView() {
+        return productDiscountsView;
+    }
+
+    public void forEachLine(CartLineConsumer consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        for (Map.Entry<Product, Integer> entry : products.entrySet()) {
+            BigDecimal discount = productDiscounts.get(entry.getKey());
+            consumer.accept(entry.getKey(), entry.getValue(), discount != null ? discount : BigDecimal.ZERO);
+        }
+    }
+
+    public CartSnapshot snapshot() {
+        if (snapshot == null || snapshot.getVersion() != version) {
+            snapshot = new CartSnapshot(version, products, productDiscounts, totalDiscount);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Prices the cart for payment. Every line is priced in a single pass over the cart without
+     * copying its maps, and the grand total is derived from those same lines. The order is
+     * reused until the cart is modified again.
+     */
+    public PricedOrder checkout() {
+        if (products.isEmpty()) {
+            throw new IllegalStateException("Cannot check out an empty cart");
+        }
+        if (pricedOrder != null && pricedOrder.getVersion() == version) {
+            return pricedOrder;
+        }
+
+        PricedLine[] lines = new PricedLine[products.size()];
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal productDiscountTotal = BigDecimal.ZERO;
+        int index = 0;
+        for (Map.Entry<Product, Integer> entry : products.entrySet()) {
+            BigDecimal discount = productDiscounts.getOrDefault(entry.getKey(), BigDecimal.ZERO);
+            BigDecimal quantity = BigDecimal.valueOf(entry.getValue());
+            PricedLine line = new PricedLine(entry.getKey(), entry.getValue(), discount);
+            lines[index++] = line;
+            subtotal = subtotal.add(line.getUnitPrice().multiply(quantity));
+            productDiscountTotal = productDiscountTotal.add(line.getUnitDiscount().multiply(quantity));
+        }
+        Arrays.sort(lines, Comparator.comparing((PricedLine line) -> line.getProduct().getName()));
+
+        BigDecimal afterProductDiscounts = subtotal.subtract(productDiscountTotal);
+        BigDecimal grandTotal = afterProductDiscounts.multiply(totalDiscount);
+        pricedOrder = new PricedOrder(version, lines, subtotal, productDiscountTotal,
+                afterProductDiscounts.subtract(grandTotal), grandTotal);
+        return pricedOrder;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    BigDecimal getTotalDiscount() {
+        return totalDiscount;
+    }
 }
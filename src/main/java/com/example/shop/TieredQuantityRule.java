@@ -0,0 +1,54 @@
+package com.example.shop;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class TieredQuantityRule implements DiscountRule {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final String productName;
+    private final NavigableMap<Integer, BigDecimal> percentByMinimumQuantity;
+
+    public TieredQuantityRule(String productName, Map<Integer, BigDecimal> percentByMinimumQuantity) {
+        if (productName == null || productName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product name cannot be null or empty");
+        }
+        if (percentByMinimumQuantity == null || percentByMinimumQuantity.isEmpty()) {
+            throw new IllegalArgumentException("Tiers cannot be null or empty");
+        }
+        percentByMinimumQuantity.forEach((minimumQuantity, percent) -> {
+            if (minimumQuantity == null || minimumQuantity <= 0) {
+                throw new IllegalArgumentException("Tier quantity must be positive");
+            }
+            if (percent == null || percent.compareTo(BigDecimal.ZERO) < 0 || percent.compareTo(HUNDRED) > 0) {
+                throw new IllegalArgumentException("Tier percent must be between 0 and 100");
+            }
+        });
+        this.productName = productName;
+        this.percentByMinimumQuantity = new TreeMap<>(percentByMinimumQuantity);
+    }
+
+    @Override
+    public Scope getScope() {
+        return Scope.PRODUCT;
+    }
+
+    @Override
+    public String getTarget() {
+        return productName;
+    }
+
+    @Override
+    public BigDecimal discountFor(Product product, BigDecimal unitPrice, int quantity) {
+        Map.Entry<Integer, BigDecimal> tier = percentByMinimumQuantity.floorEntry(quantity);
+        if (tier == null) {
+            return BigDecimal.ZERO;
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(quantity))
+                .multiply(tier.getValue())
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example;
 
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -10,9 +11,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -327,4 +337,387 @@ class BookingSystemTest {
         verify(room).removeBooking("booking-123");
         verify(roomRepository).save(room);
     }
-}
\ No newline at end of file
+
+    /**
+     * Registers a mocked event listener and books a room successfully.
+     * Verifies that a BookingCreated event is published for the new booking.
+     */
+    @Test
+    void shouldPublishEventWhenRoomIsBooked() {
+        BookingEventListener listener = mock(BookingEventListener.class);
+        bookingSystem.addEventListener(listener);
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(room));
+        when(room.isAvailable(FUTURE_START, FUTURE_END)).thenReturn(true);
+
+        bookingSystem.bookRoom(ROOM_ID, FUTURE_START, FUTURE_END);
+
+        verify(listener).onEvent(any(BookingCreated.class));
+    }
+
+    /**
+     * Registers a mocked event listener and cancels an existing booking.
+     * Verifies that a BookingCancelled event is published.
+     */
+    @Test
+    void shouldPublishEventWhenBookingIsCancelled() {
+        BookingEventListener listener = mock(BookingEventListener.class);
+        bookingSystem.addEventListener(listener);
+        Booking booking = new Booking("booking-123", ROOM_ID, FUTURE_START, FUTURE_END);
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findAll()).thenReturn(List.of(room));
+        when(room.hasBooking("booking-123")).thenReturn(true);
+        when(room.getBooking("booking-123")).thenReturn(booking);
+
+        bookingSystem.cancelBooking("booking-123");
+
+        verify(listener).onEvent(any(BookingCancelled.class));
+    }
+
+    /**
+     * Mockito is instructed to return only the rooms matching the criteria, one of them booked.
+     * Verifies that findAvailableRooms only checks availability for the matching rooms.
+     */
+    @Test
+    void shouldFindAvailableRoomsMatchingCriteria() {
+        RoomCriteria criteria = new RoomCriteria(12, null, Set.of(Equipment.PROJECTOR));
+        Room availableRoom = mock(Room.class);
+        Room bookedRoom = mock(Room.class);
+        when(roomRepository.findMatching(criteria)).thenReturn(List.of(availableRoom, bookedRoom));
+        when(availableRoom.isAvailable(FUTURE_START, FUTURE_END)).thenReturn(true);
+        when(bookedRoom.isAvailable(FUTURE_START, FUTURE_END)).thenReturn(false);
+
+        List<Room> result = bookingSystem.findAvailableRooms(criteria, FUTURE_START, FUTURE_END);
+
+        assertThat(result).containsExactly(availableRoom);
+        verify(roomRepository, never()).findAll();
+    }
+
+    /**
+     * Runs findAvailableRooms without criteria then asserts that an exception is thrown.
+     */
+    @Test
+    void shouldThrowExceptionWhenCriteriaIsNull() {
+        assertThatThrownBy(() -> bookingSystem.findAvailableRooms(null, FUTURE_START, FUTURE_END))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Sökkriterier kan inte vara null");
+    }
+
+    /**
+     * A real room is fully booked and a second request for the same slot joins the waitlist.
+     * Verifies that cancelling the existing booking promotes the waiting request and confirms it.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldPromoteWaitlistedRequestWhenBookingIsCancelled() throws NotificationException {
+        Room bookedRoom = new Room(ROOM_ID, "Stora salen");
+        bookedRoom.addBooking(new Booking("booking-123", ROOM_ID, FUTURE_START, FUTURE_END));
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(bookedRoom));
+        when(roomRepository.findAll()).thenReturn(List.of(bookedRoom));
+
+        bookingSystem.joinWaitlist(ROOM_ID, FUTURE_START, FUTURE_END);
+        boolean result = bookingSystem.cancelBooking("booking-123");
+
+        assertThat(result).isTrue();
+        assertThat(bookedRoom.hasBooking("booking-123")).isFalse();
+        assertThat(bookedRoom.getBookings()).singleElement()
+                .satisfies(booking -> assertThat(booking.getStartTime()).isEqualTo(FUTURE_START));
+        verify(notificationService).sendBookingConfirmation(any(Booking.class));
+    }
+
+    /**
+     * A waiting request leaves the waitlist before the slot is freed.
+     * Verifies that the cancellation does not promote it.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldNotPromoteRequestThatLeftWaitlist() throws NotificationException {
+        Room bookedRoom = new Room(ROOM_ID, "Stora salen");
+        bookedRoom.addBooking(new Booking("booking-123", ROOM_ID, FUTURE_START, FUTURE_END));
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(bookedRoom));
+        when(roomRepository.findAll()).thenReturn(List.of(bookedRoom));
+
+        String waitlistId = bookingSystem.joinWaitlist(ROOM_ID, FUTURE_START, FUTURE_END);
+        assertThat(bookingSystem.leaveWaitlist(waitlistId)).isTrue();
+        bookingSystem.cancelBooking("booking-123");
+
+        assertThat(bookedRoom.getBookings()).isEmpty();
+        verify(notificationService, never()).sendBookingConfirmation(any(Booking.class));
+    }
+
+    /**
+     * Two free real rooms are booked as a group.
+     * Verifies that both rooms get the booking, that they are saved together and that one confirmation is sent.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldBookAllRoomsAtomically() throws NotificationException {
+        Room first = new Room("room-a", "Rum A");
+        Room second = new Room("room-b", "Rum B");
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById("room-a")).thenReturn(Optional.of(first));
+        when(roomRepository.findById("room-b")).thenReturn(Optional.of(second));
+
+        boolean result = bookingSystem.bookRoomsAtomically(Set.of("room-b", "room-a"), FUTURE_START, FUTURE_END);
+
+        assertThat(result).isTrue();
+        assertThat(first.getBookings()).hasSize(1);
+        assertThat(second.getBookings()).hasSize(1);
+        verify(roomRepository).saveAll(List.of(first, second));
+        verify(notificationService).sendGroupBookingConfirmation(anyList());
+    }
+
+    /**
+     * One of two real rooms is already booked for the requested slot.
+     * Verifies that no room is booked, nothing is saved and no confirmation is sent.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldNotBookAnyRoomWhenOneRoomIsTaken() throws NotificationException {
+        Room free = new Room("room-a", "Rum A");
+        Room taken = new Room("room-b", "Rum B");
+        taken.addBooking(new Booking("booking-123", "room-b", FUTURE_START, FUTURE_END));
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById("room-a")).thenReturn(Optional.of(free));
+        when(roomRepository.findById("room-b")).thenReturn(Optional.of(taken));
+
+        boolean result = bookingSystem.bookRoomsAtomically(Set.of("room-a", "room-b"), FUTURE_START, FUTURE_END);
+
+        assertThat(result).isFalse();
+        assertThat(free.getBookings()).isEmpty();
+        verify(roomRepository, never()).saveAll(anyList());
+        verifyNoInteractions(notificationService);
+    }
+
+    /**
+     * Verifies that an empty set of rooms is rejected.
+     */
+    @Test
+    void shouldThrowExceptionWhenNoRoomsAreGiven() {
+        assertThatThrownBy(() -> bookingSystem.bookRoomsAtomically(Set.of(), FUTURE_START, FUTURE_END))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bokning kräver minst ett giltigt rum-id");
+    }
+
+    /**
+     * A free real room is booked through the asynchronous API.
+     * Verifies that the future completes with true, the room is saved and a confirmation is sent.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldBookRoomAsynchronously() throws NotificationException {
+        Room freeRoom = new Room(ROOM_ID, "Stora salen");
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(freeRoom));
+
+        CompletableFuture<Boolean> result = bookingSystem.bookRoomAsync(ROOM_ID, FUTURE_START, FUTURE_END);
+
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+        assertThat(freeRoom.getBookings()).hasSize(1);
+        verify(roomRepository).save(freeRoom);
+        verify(notificationService).sendBookingConfirmation(any(Booking.class));
+    }
+
+    /**
+     * Verifies that invalid booking times fail the returned future instead of throwing.
+     */
+    @Test
+    void shouldFailAsyncBookingForInvalidTimes() {
+        CompletableFuture<Boolean> result = bookingSystem.bookRoomAsync(ROOM_ID, null, FUTURE_END);
+
+        assertThat(result).failsWithin(Duration.ofSeconds(5))
+                .withThrowableThat()
+                .withCauseInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(roomRepository);
+    }
+
+    /**
+     * A real room has a future booking that is cancelled through the asynchronous API.
+     * Verifies that the booking is removed, saved and a cancellation confirmation is sent.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldCancelBookingAsynchronously() throws NotificationException {
+        Room bookedRoom = new Room(ROOM_ID, "Stora salen");
+        Booking booking = new Booking("booking-123", ROOM_ID, FUTURE_START, FUTURE_END);
+        bookedRoom.addBooking(booking);
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findAll()).thenReturn(List.of(bookedRoom));
+
+        CompletableFuture<Boolean> result = bookingSystem.cancelBookingAsync("booking-123");
+
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+        assertThat(bookedRoom.getBookings()).isEmpty();
+        verify(roomRepository).save(bookedRoom);
+        verify(notificationService).sendCancellationConfirmation(booking);
+    }
+
+    /**
+     * One real room is booked for the requested interval and another is free.
+     * Verifies that only the free room is returned by the asynchronous query.
+     */
+    @Test
+    void shouldGetAvailableRoomsAsynchronously() {
+        Room bookedRoom = new Room("room-a", "Rum A");
+        bookedRoom.addBooking(new Booking("booking-123", "room-a", FUTURE_START, FUTURE_END));
+        Room freeRoom = new Room("room-b", "Rum B");
+        when(roomRepository.findAll()).thenReturn(List.of(bookedRoom, freeRoom));
+
+        CompletableFuture<List<Room>> result = bookingSystem.getAvailableRoomsAsync(FUTURE_START, FUTURE_END);
+
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5))
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactly(freeRoom);
+    }
+
+    /**
+     * The asynchronous repository fails to save a booking made through the asynchronous API.
+     * Verifies that the future fails, the booking is taken out of the room again and no event or confirmation is sent.
+     */
+    @Test
+    void shouldRollBackAsyncBookingWhenSaveFails() {
+        Room freeRoom = new Room(ROOM_ID, "Stora salen");
+        StubAsyncRoomRepository asyncRepository = new StubAsyncRoomRepository(List.of(freeRoom), true);
+        List<BookingEvent> events = new ArrayList<>();
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        bookingSystem.setAsyncRoomRepository(asyncRepository);
+        bookingSystem.addEventListener(events::add);
+
+        CompletableFuture<Boolean> result = bookingSystem.bookRoomAsync(ROOM_ID, FUTURE_START, FUTURE_END);
+
+        assertThat(result).failsWithin(Duration.ofSeconds(5))
+                .withThrowableThat()
+                .withCauseInstanceOf(IllegalStateException.class);
+        assertThat(freeRoom.getBookings()).isEmpty();
+        assertThat(events).isEmpty();
+        verifyNoInteractions(notificationService);
+    }
+
+    /**
+     * A booking with a waiting request for the same slot is cancelled through the asynchronous API.
+     * Verifies that both the cancellation and the promotion are saved through the asynchronous repository.
+     * @throws NotificationException
+     */
+    @Test
+    void shouldPromoteWaitlistedRequestThroughAsyncRepository() throws NotificationException {
+        Room bookedRoom = new Room(ROOM_ID, "Stora salen");
+        bookedRoom.addBooking(new Booking("booking-123", ROOM_ID, FUTURE_START, FUTURE_END));
+        StubAsyncRoomRepository asyncRepository = new StubAsyncRoomRepository(List.of(bookedRoom), false);
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(bookedRoom));
+        bookingSystem.setAsyncRoomRepository(asyncRepository);
+        bookingSystem.joinWaitlist(ROOM_ID, FUTURE_START, FUTURE_END);
+
+        CompletableFuture<Boolean> result = bookingSystem.cancelBookingAsync("booking-123");
+
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+        assertThat(bookedRoom.getBookings()).singleElement()
+                .satisfies(booking -> assertThat(booking.getId()).isNotEqualTo("booking-123"));
+        assertThat(asyncRepository.saves.get()).isEqualTo(2);
+        verify(roomRepository, never()).save(any(Room.class));
+        verify(notificationService).sendBookingConfirmation(any(Booking.class));
+    }
+
+    /**
+     * The asynchronous repository completes every call on one thread, and two bookings for the same room
+     * are started while that thread is busy. Verifies that the second booking waits for the room's lock
+     * without blocking the repository thread that has to complete the first save, so both bookings finish.
+     */
+    @Test
+    void shouldNotBlockRepositoryThreadWhileWaitingForRoomLock() {
+        Room freeRoom = new Room(ROOM_ID, "Stora salen");
+        ExecutorService repositoryThread = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch busy = new CountDownLatch(1);
+            repositoryThread.execute(() -> {
+                try {
+                    busy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            when(timeProvider.getCurrentTime()).thenReturn(NOW);
+            bookingSystem.setAsyncRoomRepository(
+                    new StubAsyncRoomRepository(List.of(freeRoom), false, repositoryThread));
+
+            CompletableFuture<Boolean> first =
+                    bookingSystem.bookRoomAsync(ROOM_ID, FUTURE_START, FUTURE_START.plusHours(1));
+            CompletableFuture<Boolean> second =
+                    bookingSystem.bookRoomAsync(ROOM_ID, FUTURE_END.minusHours(1), FUTURE_END);
+            busy.countDown();
+
+            assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+            assertThat(second).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+            assertThat(freeRoom.getBookings()).hasSize(2);
+        } finally {
+            repositoryThread.shutdownNow();
+        }
+    }
+
+    /**
+     * The second of two event listeners fails when a booking is published, as the event log would on a full disk.
+     * Verifies that the booking is taken out of the room and saved again, the first listener gets the
+     * opposite event, and the failure reaches the caller without a confirmation being sent.
+     */
+    @Test
+    void shouldUndoBookingWhenListenerFails() {
+        Room freeRoom = new Room(ROOM_ID, "Stora salen");
+        List<BookingEvent> events = new ArrayList<>();
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(roomRepository.findById(ROOM_ID)).thenReturn(Optional.of(freeRoom));
+        bookingSystem.addEventListener(events::add);
+        bookingSystem.addEventListener(event -> {
+            throw new IllegalStateException("Disken är full");
+        });
+
+        assertThatThrownBy(() -> bookingSystem.bookRoom(ROOM_ID, FUTURE_START, FUTURE_END))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Bokningshändelsen kunde inte publiceras");
+
+        assertThat(freeRoom.getBookings()).isEmpty();
+        verify(roomRepository, times(2)).save(freeRoom);
+        assertThat(events).extracting(event -> event.getClass().getSimpleName())
+                .containsExactly("BookingCreated", "BookingCancelled");
+        verifyNoInteractions(notificationService);
+    }
+
+    private static class StubAsyncRoomRepository implements AsyncRoomRepository {
+        private final List<Room> rooms;
+        private final boolean failSaves;
+        private final Executor executor;
+        private final AtomicInteger saves = new AtomicInteger();
+
+        StubAsyncRoomRepository(List<Room> rooms, boolean failSaves) {
+            this(rooms, failSaves, Runnable::run);
+        }
+
+        StubAsyncRoomRepository(List<Room> rooms, boolean failSaves, Executor executor) {
+            this.rooms = rooms;
+            this.failSaves = failSaves;
+            this.executor = executor;
+        }
+
+        @Override
+        public CompletableFuture<Optional<Room>> findById(String id) {
+            return CompletableFuture.supplyAsync(
+                    () -> rooms.stream().filter(room -> room.getId().equals(id)).findFirst(), executor);
+        }
+
+        @Override
+        public CompletableFuture<List<Room>> findAll() {
+            return CompletableFuture.supplyAsync(() -> rooms, executor);
+        }
+
+        @Override
+        public CompletableFuture<Void> save(Room room) {
+            saves.incrementAndGet();
+            return CompletableFuture.runAsync(() -> {
+                if (failSaves) {
+                    throw new IllegalStateException("Databasen svarar inte");
+                }
+            }, executor);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRoomRepositoryTest {
+
+    private InMemoryRoomRepository repositoryWithRooms() {
+        InMemoryRoomRepository repository = new InMemoryRoomRepository();
+        repository.saveAll(List.of(
+                new Room("small", "Lilla rummet", 4, 1, Set.of(Equipment.WHITEBOARD)),
+                new Room("medium", "Mellanrummet", 12, 2, Set.of(Equipment.PROJECTOR)),
+                new Room("large", "Stora salen", 40, 2, Set.of(Equipment.PROJECTOR, Equipment.VIDEO_CONFERENCE)),
+                new Room("plain", "Enkla rummet", 20, 3, Set.of())));
+        return repository;
+    }
+
+    /**
+     * Saves rooms with different attributes and queries on capacity and equipment.
+     * Verifies that only rooms with enough capacity and all the equipment are returned.
+     */
+    @Test
+    void shouldFindRoomsByCapacityAndEquipment() {
+        InMemoryRoomRepository repository = repositoryWithRooms();
+
+        List<Room> result = repository.findMatching(new RoomCriteria(12, null, Set.of(Equipment.PROJECTOR)));
+
+        assertThat(result).extracting(Room::getId).containsExactlyInAnyOrder("medium", "large");
+    }
+
+    /**
+     * Queries on floor combined with equipment.
+     * Verifies that the floor index narrows the result.
+     */
+    @Test
+    void shouldFindRoomsByFloor() {
+        InMemoryRoomRepository repository = repositoryWithRooms();
+
+        List<Room> result = repository.findMatching(new RoomCriteria(0, 2, Set.of(Equipment.VIDEO_CONFERENCE)));
+
+        assertThat(result).extracting(Room::getId).containsExactly("large");
+    }
+
+    /**
+     * Replaces a room with a new instance that has other attributes.
+     * Verifies that the indexes follow the new attributes.
+     */
+    @Test
+    void shouldUpdateIndexesWhenRoomIsReplaced() {
+        InMemoryRoomRepository repository = repositoryWithRooms();
+
+        repository.save(new Room("small", "Lilla rummet", 50, 1, Set.of(Equipment.PROJECTOR)));
+
+        assertThat(repository.findMatching(new RoomCriteria(45, null, Set.of(Equipment.PROJECTOR))))
+                .extracting(Room::getId).containsExactly("small");
+        assertThat(repository.findMatching(new RoomCriteria(0, null, Set.of(Equipment.WHITEBOARD)))).isEmpty();
+    }
+
+    /**
+     * Queries with criteria that accept any room.
+     * Verifies that every room is returned.
+     */
+    @Test
+    void shouldReturnAllRoomsForEmptyCriteria() {
+        InMemoryRoomRepository repository = repositoryWithRooms();
+
+        assertThat(repository.findMatching(RoomCriteria.any())).hasSize(4);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadRoomRepositoryTest {
+
+    /**
+     * Saves a room through the adapter around an in-memory repository that records the calling thread.
+     * Verifies that the blocking call ran on a virtual thread and that the room can be found afterwards.
+     */
+    @Test
+    void shouldRunBlockingCallsOnVirtualThreads() {
+        Thread[] caller = new Thread[1];
+        InMemoryRoomRepository rooms = new InMemoryRoomRepository() {
+            @Override
+            public void save(Room room) {
+                caller[0] = Thread.currentThread();
+                super.save(room);
+            }
+        };
+        AsyncRoomRepository repository = AsyncRoomRepository.onVirtualThreads(rooms);
+        Room room = new Room("room-1", "Stora salen");
+
+        CompletableFuture<Void> saved = repository.save(room);
+
+        assertThat(saved).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(caller[0].isVirtual()).isTrue();
+        assertThat(repository.findById("room-1")).succeedsWithin(Duration.ofSeconds(5))
+                .isEqualTo(Optional.of(room));
+    }
+}
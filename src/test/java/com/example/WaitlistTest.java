@@ -0,0 +1,64 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitlistTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    /**
+     * Adds waiting requests before, inside and after a freed interval, and in another room.
+     * Verifies that only requests for the same room that overlap the interval are returned, oldest first.
+     */
+    @Test
+    void shouldReturnOnlyOverlappingEntriesInJoinOrder() {
+        Waitlist waitlist = new Waitlist();
+        WaitlistEntry longMorning = waitlist.add("room-1", DAY.plusHours(6), DAY.plusHours(11));
+        waitlist.add("room-1", DAY.plusHours(7), DAY.plusHours(8));
+        WaitlistEntry lunch = waitlist.add("room-1", DAY.plusHours(12), DAY.plusHours(13));
+        waitlist.add("room-1", DAY.plusHours(16), DAY.plusHours(17));
+        waitlist.add("room-2", DAY.plusHours(12), DAY.plusHours(13));
+
+        List<WaitlistEntry> overlapping = waitlist.overlapping("room-1", DAY.plusHours(10), DAY.plusHours(14));
+
+        assertThat(overlapping).containsExactly(longMorning, lunch);
+    }
+
+    /**
+     * Removes an entry from the waitlist.
+     * Verifies that it is no longer returned and cannot be removed twice.
+     */
+    @Test
+    void shouldRemoveEntry() {
+        Waitlist waitlist = new Waitlist();
+        WaitlistEntry entry = waitlist.add("room-1", DAY.plusHours(9), DAY.plusHours(10));
+
+        assertThat(waitlist.remove(entry.getId())).isTrue();
+        assertThat(waitlist.remove(entry.getId())).isFalse();
+        assertThat(waitlist.overlapping("room-1", DAY, DAY.plusDays(1))).isEmpty();
+        assertThat(waitlist.size()).isZero();
+    }
+
+    /**
+     * Adds two day-long requests and a short one, then removes one of the long requests.
+     * Verifies that the remaining long request is still found, so the lookup only narrows once no long request waits.
+     */
+    @Test
+    void shouldKeepFindingLongEntryWhileAnotherOfSameLengthIsRemoved() {
+        Waitlist waitlist = new Waitlist();
+        WaitlistEntry first = waitlist.add("room-1", DAY, DAY.plusDays(1));
+        WaitlistEntry second = waitlist.add("room-1", DAY.plusHours(1), DAY.plusDays(1).plusHours(1));
+        WaitlistEntry evening = waitlist.add("room-1", DAY.plusHours(20), DAY.plusHours(21));
+
+        waitlist.remove(first.getId());
+
+        assertThat(waitlist.overlapping("room-1", DAY.plusHours(22), DAY.plusHours(23))).containsExactly(second);
+        waitlist.remove(second.getId());
+        assertThat(waitlist.overlapping("room-1", DAY.plusHours(20), DAY.plusHours(23))).containsExactly(evening);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.admission;
+
+import com.example.BookingSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlledBookingSystemTest {
+    @Mock
+    BookingSystem bookingSystem;
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 9, 1, 9, 0);
+    private static final LocalDateTime END = START.plusHours(1);
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * A client with a burst of two sends three bookings at once and one more after half a second.
+     * Verifies that the third is rejected and that the bucket has refilled one token by the fourth.
+     */
+    @Test
+    void shouldRejectClientAboveRateAndRefillOverTime() {
+        when(bookingSystem.bookRoom(anyString(), any(), any())).thenReturn(true);
+        AdmissionControlledBookingSystem admission = new AdmissionControlledBookingSystem(bookingSystem,
+                AdmissionConfig.defaults().withClientLimit(2, 2), clock::get);
+
+        admission.bookRoom("client-1", "room-1", START, END);
+        admission.bookRoom("client-1", "room-2", START, END);
+        assertThatThrownBy(() -> admission.bookRoom("client-1", "room-3", START, END))
+                .isInstanceOf(AdmissionRejectedException.class)
+                .extracting(e -> ((AdmissionRejectedException) e).getReason())
+                .isEqualTo(AdmissionRejectedException.Reason.CLIENT_RATE_LIMITED);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(admission.bookRoom("client-1", "room-3", START, END)).isTrue();
+        assertThat(admission.getRejectedCount(AdmissionRejectedException.Reason.CLIENT_RATE_LIMITED)).isEqualTo(1);
+    }
+
+    /**
+     * Five different clients try to book the same room whose burst is three.
+     * Verifies that only three requests reach the booking system and the rest are rejected for the room.
+     */
+    @Test
+    void shouldRejectBookingsAboveRoomRate() {
+        when(bookingSystem.bookRoom(anyString(), any(), any())).thenReturn(true);
+        AdmissionControlledBookingSystem admission = new AdmissionControlledBookingSystem(bookingSystem,
+                AdmissionConfig.defaults().withRoomLimit(1, 3), clock::get);
+
+        int admitted = 0;
+        for (int i = 0; i < 5; i++) {
+            try {
+                admission.bookRoom("client-" + i, "room-1", START, END);
+                admitted++;
+            } catch (AdmissionRejectedException e) {
+                assertThat(e.getReason()).isEqualTo(AdmissionRejectedException.Reason.ROOM_RATE_LIMITED);
+            }
+        }
+
+        assertThat(admitted).isEqualTo(3);
+        verify(bookingSystem, times(3)).bookRoom("room-1", START, END);
+    }
+
+    /**
+     * With room for one running operation and no queue, a booking is held inside the booking system.
+     * Verifies that a second request is rejected as overloaded at once and that the slot is freed afterwards.
+     * @throws Exception
+     */
+    @Test
+    void shouldRejectImmediatelyWhenConcurrencyLimitIsReached() throws Exception {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(bookingSystem.bookRoom(anyString(), any(), any())).thenAnswer(invocation -> {
+            inside.countDown();
+            finish.await();
+            return true;
+        });
+        AdmissionControlledBookingSystem admission = new AdmissionControlledBookingSystem(bookingSystem,
+                AdmissionConfig.defaults().withConcurrency(1, 0, Duration.ZERO), clock::get);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> first = executor.submit(() -> admission.bookRoom("client-1", "room-1", START, END));
+            assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> admission.bookRoom("client-2", "room-2", START, END))
+                    .isInstanceOf(AdmissionRejectedException.class)
+                    .hasMessage("Bokningssystemet är överbelastat");
+
+            finish.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(admission.bookRoom("client-2", "room-2", START, END)).isTrue();
+    }
+
+    /**
+     * Many threads race for the tokens of one bucket while the clock stands still.
+     * Verifies that exactly the burst size is handed out.
+     * @throws Exception
+     */
+    @Test
+    void shouldNeverHandOutMoreTokensThanBurstUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 100, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 1_000; j++) {
+                        if (bucket.tryAcquire()) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bulk;
+
+import com.example.Booking;
+import com.example.BookingCreated;
+import com.example.BookingEvent;
+import com.example.BookingSystem;
+import com.example.InMemoryRoomRepository;
+import com.example.NotificationService;
+import com.example.Room;
+import com.example.RoomRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BookingImporterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 8, 0);
+
+    private static Booking booking(String id, String roomId, int startHour, int endHour) {
+        return new Booking(id, roomId, START.plusHours(startHour), START.plusHours(endHour));
+    }
+
+    /**
+     * Imports unsorted bookings for a room that already has one booking, including one that touches
+     * an imported booking's end, one inside an existing booking and one for an unknown room.
+     * Verifies that only the non-conflicting bookings are loaded and published as events, and every other
+     * one is reported with its reason.
+     */
+    @Test
+    void shouldLoadNonConflictingBookingsAndReportConflicts() {
+        Room room = new Room("room-1", "Stora salen");
+        Booking existing = booking("existing", "room-1", 10, 12);
+        room.addBooking(existing);
+        InMemoryRoomRepository repository = new InMemoryRoomRepository();
+        repository.save(room);
+
+        Booking late = booking("late", "room-1", 14, 15);
+        Booking early = booking("early", "room-1", 0, 2);
+        Booking touching = booking("touching", "room-1", 2, 3);
+        Booking inside = booking("inside", "room-1", 11, 13);
+        Booking unknown = booking("unknown", "room-9", 0, 1);
+        Booking reversed = booking("reversed", "room-1", 5, 4);
+
+        List<BookingEvent> events = new ArrayList<>();
+        BookingSystem bookingSystem = bookingSystem(repository);
+        bookingSystem.addEventListener(events::add);
+
+        ImportReport report = new BookingImporter(repository, bookingSystem)
+                .importBookings(List.of(late, inside, touching, unknown, early, reversed));
+
+        assertThat(report.getImportedCount()).isEqualTo(2);
+        assertThat(room.getBookings()).containsExactlyInAnyOrder(existing, early, late);
+        assertThat(events).allMatch(event -> event instanceof BookingCreated)
+                .extracting(BookingEvent::getBooking)
+                .containsExactlyInAnyOrder(early, late);
+        assertThat(report.getConflicts())
+                .extracting(conflict -> conflict.getBooking().getId(), ImportConflict::getReason,
+                        ImportConflict::getConflictingBooking)
+                .containsExactlyInAnyOrder(
+                        tuple("touching", ImportConflict.Reason.OVERLAPS_IMPORTED, early),
+                        tuple("inside", ImportConflict.Reason.OVERLAPS_EXISTING, existing),
+                        tuple("unknown", ImportConflict.Reason.UNKNOWN_ROOM, null),
+                        tuple("reversed", ImportConflict.Reason.INVALID_INTERVAL, null));
+    }
+
+    /**
+     * Imports a booking that reuses the id of a booking in another room and two bookings sharing one id.
+     * Verifies that only the first use of each id is loaded and the others are reported as duplicates.
+     */
+    @Test
+    void shouldRejectDuplicateBookingIds() {
+        InMemoryRoomRepository repository = repositoryWithRooms(2);
+        Booking existing = booking("taken", "room-0", 0, 1);
+        repository.findById("room-0").orElseThrow().addBooking(existing);
+
+        Booking reusesExisting = booking("taken", "room-1", 4, 5);
+        Booking first = booking("twice", "room-1", 0, 1);
+        Booking second = booking("twice", "room-1", 2, 3);
+
+        ImportReport report = new BookingImporter(repository, bookingSystem(repository))
+                .importBookings(List.of(reusesExisting, first, second));
+
+        assertThat(report.getImportedCount()).isEqualTo(1);
+        assertThat(repository.findById("room-1").orElseThrow().getBookings()).containsExactly(first);
+        assertThat(report.getConflicts())
+                .extracting(ImportConflict::getBooking, ImportConflict::getReason,
+                        ImportConflict::getConflictingBooking)
+                .containsExactlyInAnyOrder(
+                        tuple(reusesExisting, ImportConflict.Reason.DUPLICATE_ID, existing),
+                        tuple(second, ImportConflict.Reason.DUPLICATE_ID, first));
+    }
+
+    /**
+     * Imports many shuffled bookings across several rooms and compares with loading them one by one
+     * in start order through isAvailable and addBooking.
+     * Verifies that the sweep accepts exactly the same bookings.
+     */
+    @Test
+    void shouldAcceptSameBookingsAsOneByOneInsertion() {
+        Random random = new Random(42);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int start = random.nextInt(5_000);
+            bookings.add(booking("b-" + i, "room-" + (i % 5), start, start + 1 + random.nextInt(6)));
+        }
+        Collections.shuffle(bookings, random);
+
+        InMemoryRoomRepository expected = repositoryWithRooms(5);
+        bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStartTime)
+                        .thenComparing(Booking::getEndTime)
+                        .thenComparing(Booking::getId))
+                .forEach(booking -> {
+                    Room room = expected.findById(booking.getRoomId()).orElseThrow();
+                    if (room.isAvailable(booking.getStartTime(), booking.getEndTime())) {
+                        room.addBooking(booking);
+                    }
+                });
+        InMemoryRoomRepository imported = repositoryWithRooms(5);
+
+        ImportReport report = new BookingImporter(imported, bookingSystem(imported)).importBookings(bookings);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(imported.findById("room-" + i).orElseThrow().getBookings())
+                    .containsExactlyInAnyOrderElementsOf(expected.findById("room-" + i).orElseThrow().getBookings());
+        }
+        assertThat(report.getImportedCount() + report.getConflicts().size()).isEqualTo(bookings.size());
+    }
+
+    private static BookingSystem bookingSystem(RoomRepository repository) {
+        return new BookingSystem(() -> START, repository, new NotificationService() {
+            @Override
+            public void sendBookingConfirmation(Booking booking) {
+            }
+
+            @Override
+            public void sendCancellationConfirmation(Booking booking) {
+            }
+        });
+    }
+
+    private static InMemoryRoomRepository repositoryWithRooms(int count) {
+        InMemoryRoomRepository repository = new InMemoryRoomRepository();
+        for (int i = 0; i < count; i++) {
+            repository.save(new Room("room-" + i, "Rum " + i));
+        }
+        return repository;
+    }
+}
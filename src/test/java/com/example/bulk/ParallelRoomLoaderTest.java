@@ -0,0 +1,94 @@
+package com.example.bulk;
+
+import com.example.Booking;
+import com.example.Equipment;
+import com.example.InMemoryRoomRepository;
+import com.example.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ParallelRoomLoaderTest {
+    @TempDir
+    Path directory;
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 8, 15, 30, 500);
+
+    /**
+     * Writes a columnar file with many rooms and bookings and loads it with several threads.
+     * Verifies that every room and booking arrives in the repository unchanged.
+     * @throws IOException
+     */
+    @Test
+    void shouldLoadRoomsAndBookingsFromColumnarFile() throws IOException {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            Room room = new Room("room-" + i, "Rum nummer " + i + " – våning " + (i % 5), i % 30, i % 5,
+                    i % 2 == 0 ? Set.of(Equipment.PROJECTOR) : Set.of());
+            for (int j = 0; j < i % 7; j++) {
+                room.addBooking(new Booking("booking-" + i + "-" + j, room.getId(),
+                        START.plusHours(j), START.plusHours(j).plusMinutes(45)));
+            }
+            rooms.add(room);
+        }
+        Path file = directory.resolve("rooms.col");
+        ColumnarRoomFile.write(file, rooms);
+        InMemoryRoomRepository repository = new InMemoryRoomRepository();
+
+        int loaded = new ParallelRoomLoader(repository, 4).load(file);
+
+        assertThat(loaded).isEqualTo(250);
+        assertThat(repository.size()).isEqualTo(250);
+        for (Room expected : rooms) {
+            Room actual = repository.findById(expected.getId()).orElseThrow();
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(actual.getCapacity()).isEqualTo(expected.getCapacity());
+            assertThat(actual.getFloor()).isEqualTo(expected.getFloor());
+            assertThat(actual.getEquipment()).isEqualTo(expected.getEquipment());
+            assertThat(actual.getBookings())
+                    .extracting(Booking::getId, Booking::getRoomId, Booking::getStartTime, Booking::getEndTime)
+                    .containsExactlyInAnyOrderElementsOf(expected.getBookings().stream()
+                            .map(b -> tuple(b.getId(), b.getRoomId(), b.getStartTime(), b.getEndTime()))
+                            .toList());
+        }
+    }
+
+    /**
+     * Loads a file with no rooms.
+     * Verifies that nothing is saved.
+     * @throws IOException
+     */
+    @Test
+    void shouldLoadEmptyFile() throws IOException {
+        Path file = directory.resolve("empty.col");
+        ColumnarRoomFile.write(file, List.of());
+        InMemoryRoomRepository repository = new InMemoryRoomRepository();
+
+        assertThat(new ParallelRoomLoader(repository, 2).load(file)).isZero();
+        assertThat(repository.size()).isZero();
+    }
+
+    /**
+     * Loads a file that does not start with the columnar header then asserts that an exception is thrown.
+     * @throws IOException
+     */
+    @Test
+    void shouldRejectFileWithoutHeader() throws IOException {
+        Path file = directory.resolve("garbage.col");
+        Files.write(file, new byte[32]);
+
+        assertThatThrownBy(() -> new ParallelRoomLoader(new InMemoryRoomRepository(), 2).load(file))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.eventlog;
+
+import com.example.Booking;
+import com.example.BookingCancelled;
+import com.example.BookingCreated;
+import com.example.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingProjectorTest {
+    @TempDir
+    Path directory;
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private Booking booking(String id, String roomId, int hour) {
+        return new Booking(id, roomId, START.plusHours(hour), START.plusHours(hour + 1));
+    }
+
+    /**
+     * Writes events to a file log and recovers without any snapshot.
+     * Verifies that the rooms are rebuilt from the room catalog and the full log.
+     * @throws IOException
+     */
+    @Test
+    void shouldRebuildRoomsFromLog() throws IOException {
+        try (FileBookingEventLog log = new FileBookingEventLog(directory.resolve("events.log"))) {
+            log.append(new BookingCreated(booking("b-1", "room-1", 0)));
+            log.append(new BookingCreated(booking("b-2", "room-1", 2)));
+            log.append(new BookingCancelled(booking("b-1", "room-1", 0)));
+
+            BookingProjector projector = BookingProjector.recover(log,
+                    new RoomSnapshotStore(directory.resolve("rooms.snapshot")),
+                    List.of(new Room("room-1", "Stora salen"), new Room("room-2", "Lilla salen")));
+
+            List<Room> rooms = projector.copyRooms();
+            assertThat(rooms).extracting(Room::getName).containsExactly("Stora salen", "Lilla salen");
+            assertThat(rooms.get(0).getBookings()).extracting(Booking::getId).containsExactly("b-2");
+            assertThat(rooms.get(1).getBookings()).isEmpty();
+        }
+    }
+
+    /**
+     * Takes a snapshot, appends more events and reopens both the log and the snapshot.
+     * Verifies that recovery starts at the snapshot and only replays the events written after it.
+     * @throws IOException
+     */
+    @Test
+    void shouldReplayOnlyTailAfterSnapshot() throws IOException {
+        Path logFile = directory.resolve("events.log");
+        RoomSnapshotStore snapshotStore = new RoomSnapshotStore(directory.resolve("rooms.snapshot"));
+        long snapshotPosition;
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore, List.of(new Room("room-1", "Stora salen")));
+            log.append(new BookingCreated(booking("b-1", "room-1", 0)));
+            log.append(new BookingCreated(booking("b-2", "room-1", 2)));
+            projector.writeSnapshot(snapshotStore);
+            snapshotPosition = projector.getPosition();
+            log.append(new BookingCancelled(booking("b-2", "room-1", 2)));
+            log.append(new BookingCreated(booking("b-3", "room-1", 4)));
+        }
+
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            List<String> replayed = new ArrayList<>();
+            log.replayFrom(snapshotPosition, event -> replayed.add(event.getBooking().getId()));
+
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore, List.of());
+
+            assertThat(replayed).containsExactly("b-2", "b-3");
+            assertThat(projector.getPosition()).isEqualTo(log.position());
+            assertThat(projector.copyRooms().get(0).getBookings())
+                    .extracting(Booking::getId)
+                    .containsExactlyInAnyOrder("b-1", "b-3");
+        }
+    }
+
+    /**
+     * Simulates a crash in the middle of an append by adding half a record and then a record with a
+     * bad checksum to the end of the log.
+     * Verifies that reopening drops the damaged tail, recovery succeeds and new events follow the last complete one.
+     * @throws IOException
+     */
+    @Test
+    void shouldTruncateTornTailOnOpen() throws IOException {
+        Path logFile = directory.resolve("events.log");
+        long validEnd;
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            log.append(new BookingCreated(booking("b-1", "room-1", 0)));
+            validEnd = log.position();
+            log.append(new BookingCreated(booking("b-2", "room-1", 2)));
+        }
+        byte[] bytes = Files.readAllBytes(logFile);
+        byte[] torn = Arrays.copyOf(bytes, bytes.length - 5);
+        Files.write(logFile, torn);
+
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            assertThat(log.position()).isEqualTo(validEnd);
+            log.append(new BookingCreated(booking("b-3", "room-1", 4)));
+        }
+        byte[] corrupted = Files.readAllBytes(logFile);
+        corrupted[corrupted.length - 1] ^= 0x7F;
+        Files.write(logFile, corrupted);
+
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            log.append(new BookingCreated(booking("b-4", "room-1", 6)));
+            BookingProjector projector = BookingProjector.recover(log,
+                    new RoomSnapshotStore(directory.resolve("rooms.snapshot")),
+                    List.of(new Room("room-1", "Stora salen")));
+
+            assertThat(projector.copyRooms().get(0).getBookings())
+                    .extracting(Booking::getId)
+                    .containsExactlyInAnyOrder("b-1", "b-4");
+        }
+    }
+
+    /**
+     * Takes a snapshot and then cuts the log below the snapshot's position, as losing the unsynced tail would.
+     * Verifies that recovery ignores the snapshot and rebuilds the rooms from the catalog and the whole log.
+     * @throws IOException
+     */
+    @Test
+    void shouldReplayWholeLogWhenSnapshotIsAheadOfLog() throws IOException {
+        Path logFile = directory.resolve("events.log");
+        RoomSnapshotStore snapshotStore = new RoomSnapshotStore(directory.resolve("rooms.snapshot"));
+        long firstEnd;
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore, List.of(new Room("room-1", "Stora salen")));
+            log.append(new BookingCreated(booking("b-1", "room-1", 0)));
+            firstEnd = log.position();
+            log.append(new BookingCreated(booking("b-2", "room-1", 2)));
+            projector.writeSnapshot(snapshotStore);
+        }
+        Files.write(logFile, Arrays.copyOf(Files.readAllBytes(logFile), (int) firstEnd));
+
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore,
+                    List.of(new Room("room-1", "Stora salen")));
+
+            assertThat(projector.getPosition()).isEqualTo(firstEnd);
+            assertThat(projector.copyRooms().get(0).getBookings())
+                    .extracting(Booking::getId)
+                    .containsExactly("b-1");
+        }
+    }
+
+    /**
+     * Reopens the log from a snapshot's position after a crash left half a record at the end.
+     * Verifies that only the tail after the snapshot is checked, the torn record is still dropped and recovery succeeds.
+     * @throws IOException
+     */
+    @Test
+    void shouldVerifyOnlyTailAfterSnapshotOnOpen() throws IOException {
+        Path logFile = directory.resolve("events.log");
+        RoomSnapshotStore snapshotStore = new RoomSnapshotStore(directory.resolve("rooms.snapshot"));
+        long validEnd;
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile)) {
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore, List.of(new Room("room-1", "Stora salen")));
+            log.append(new BookingCreated(booking("b-1", "room-1", 0)));
+            projector.writeSnapshot(snapshotStore);
+            log.append(new BookingCreated(booking("b-2", "room-1", 2)));
+            validEnd = log.position();
+            log.append(new BookingCreated(booking("b-3", "room-1", 4)));
+        }
+        byte[] bytes = Files.readAllBytes(logFile);
+        Files.write(logFile, Arrays.copyOf(bytes, bytes.length - 3));
+        long snapshotPosition = snapshotStore.readLatest().orElseThrow().getLogPosition();
+
+        try (FileBookingEventLog log = new FileBookingEventLog(logFile, snapshotPosition)) {
+            BookingProjector projector = BookingProjector.recover(log, snapshotStore, List.of());
+
+            assertThat(log.position()).isEqualTo(validEnd);
+            assertThat(projector.copyRooms().get(0).getBookings())
+                    .extracting(Booking::getId)
+                    .containsExactlyInAnyOrder("b-1", "b-2");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.jfr;
+
+import com.example.BookingSystem;
+import com.example.InMemoryRoomRepository;
+import com.example.Room;
+import com.example.loadtest.CountingNotificationService;
+import com.example.loadtest.FixedTimeProvider;
+import com.example.shop.Product;
+import com.example.shop.ShoppingCart;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEventsTest {
+    @TempDir
+    Path directory;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.example.BookRoom", "com.example.CancelBooking",
+                    "com.example.AvailableRooms", "com.example.Notification", "com.example.CartTotalPrice")) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    /**
+     * Books the same slot twice, queries availability and cancels the booking while recording.
+     * Verifies that each operation emits an event with room id, scanned bookings and outcome.
+     * @throws IOException
+     */
+    @Test
+    void shouldRecordBookingOperations() throws IOException {
+        InMemoryRoomRepository roomRepository = new InMemoryRoomRepository();
+        roomRepository.save(new Room("room-1", "Stora salen"));
+        BookingSystem bookingSystem = new BookingSystem(new FixedTimeProvider(NOW), roomRepository,
+                new CountingNotificationService());
+
+        List<RecordedEvent> events = record(() -> {
+            bookingSystem.bookRoom("room-1", NOW.plusDays(1), NOW.plusDays(1).plusHours(1));
+            bookingSystem.bookRoom("room-1", NOW.plusDays(1), NOW.plusDays(1).plusHours(1));
+            bookingSystem.getAvailableRooms(NOW.plusDays(2), NOW.plusDays(2).plusHours(1));
+            String bookingId = roomRepository.findById("room-1").orElseThrow().getBookings().iterator().next().getId();
+            bookingSystem.cancelBooking(bookingId);
+        });
+
+        List<RecordedEvent> bookings = named(events, "com.example.BookRoom");
+        assertThat(bookings).extracting(event -> event.getString("outcome"))
+                .containsExactlyInAnyOrder(BookingOutcome.BOOKED, BookingOutcome.CONFLICT);
+        assertThat(bookings).allSatisfy(event -> assertThat(event.getString("roomId")).isEqualTo("room-1"));
+        assertThat(bookings).extracting(event -> event.getInt("bookingsScanned")).containsExactlyInAnyOrder(0, 1);
+
+        RecordedEvent query = named(events, "com.example.AvailableRooms").get(0);
+        assertThat(query.getInt("roomsScanned")).isEqualTo(1);
+        assertThat(query.getInt("roomsAvailable")).isEqualTo(1);
+
+        RecordedEvent cancellation = named(events, "com.example.CancelBooking").get(0);
+        assertThat(cancellation.getString("outcome")).isEqualTo(BookingOutcome.CANCELLED);
+        assertThat(cancellation.getString("roomId")).isEqualTo("room-1");
+
+        assertThat(named(events, "com.example.Notification")).extracting(event -> event.getString("kind"))
+                .containsExactlyInAnyOrder("BOOKING", "CANCELLATION");
+    }
+
+    /**
+     * Computes a cart total while recording.
+     * Verifies that the event carries the number of lines and the total.
+     * @throws IOException
+     */
+    @Test
+    void shouldRecordCartTotalPrice() throws IOException {
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(new Product("Apple", new BigDecimal("1.50")), 2);
+        cart.addProduct(new Product("Banana", new BigDecimal("2.00")));
+
+        List<RecordedEvent> events = record(cart::getTotalPrice);
+
+        RecordedEvent event = named(events, "com.example.CartTotalPrice").get(0);
+        assertThat(event.getInt("lines")).isEqualTo(2);
+        assertThat(event.getDouble("total")).isEqualTo(5.0);
+    }
+}
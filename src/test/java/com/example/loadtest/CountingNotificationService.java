@@ -0,0 +1,29 @@
+package com.example.loadtest;
+
+import com.example.Booking;
+import com.example.NotificationService;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountingNotificationService implements NotificationService {
+    private final LongAdder bookingConfirmations = new LongAdder();
+    private final LongAdder cancellationConfirmations = new LongAdder();
+
+    @Override
+    public void sendBookingConfirmation(Booking booking) {
+        bookingConfirmations.increment();
+    }
+
+    @Override
+    public void sendCancellationConfirmation(Booking booking) {
+        cancellationConfirmations.increment();
+    }
+
+    public long getBookingConfirmations() {
+        return bookingConfirmations.sum();
+    }
+
+    public long getCancellationConfirmations() {
+        return cancellationConfirmations.sum();
+    }
+}
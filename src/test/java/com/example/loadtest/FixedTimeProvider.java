@@ -0,0 +1,18 @@
+package com.example.loadtest;
+
+import com.example.TimeProvider;
+
+import java.time.LocalDateTime;
+
+public class FixedTimeProvider implements TimeProvider {
+    private final LocalDateTime now;
+
+    public FixedTimeProvider(LocalDateTime now) {
+        this.now = now;
+    }
+
+    @Override
+    public LocalDateTime getCurrentTime() {
+        return now;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable description of a load-test scenario. Start from {@link #defaults()} and adjust with the
+ * {@code with...} methods. The same configuration, including the seed, always generates the same workload.
+ */
+public class LoadTestConfig {
+    private final long seed;
+    private final int clients;
+    private final boolean virtualThreads;
+    private final int operationsPerClient;
+    private final int roomCount;
+    private final int bookPercent;
+    private final int cancelPercent;
+    private final double timeSkew;
+    private final int horizonSlots;
+    private final Duration slotLength;
+    private final LocalDateTime startOfHorizon;
+
+    private LoadTestConfig(long seed, int clients, boolean virtualThreads, int operationsPerClient, int roomCount,
+                           int bookPercent, int cancelPercent, double timeSkew, int horizonSlots,
+                           Duration slotLength, LocalDateTime startOfHorizon) {
+        if (clients <= 0 || operationsPerClient <= 0 || roomCount <= 0 || horizonSlots <= 0) {
+            throw new IllegalArgumentException("Klienter, operationer, rum och tidsluckor måste vara positiva");
+        }
+        if (bookPercent < 0 || cancelPercent < 0 || bookPercent + cancelPercent > 100) {
+            throw new IllegalArgumentException("Operationsmixen måste summera till högst 100 procent");
+        }
+        if (timeSkew < 1.0) {
+            throw new IllegalArgumentException("Tidsskevhet måste vara minst 1.0");
+        }
+        this.seed = seed;
+        this.clients = clients;
+        this.virtualThreads = virtualThreads;
+        this.operationsPerClient = operationsPerClient;
+        this.roomCount = roomCount;
+        this.bookPercent = bookPercent;
+        this.cancelPercent = cancelPercent;
+        this.timeSkew = timeSkew;
+        this.horizonSlots = horizonSlots;
+        this.slotLength = slotLength;
+        this.startOfHorizon = startOfHorizon;
+    }
+
+    public static LoadTestConfig defaults() {
+        return new LoadTestConfig(42L, 8, false, 10_000, 200, 30, 10, 1.0, 2_000,
+                Duration.ofMinutes(30), LocalDateTime.of(2030, 1, 7, 8, 0));
+    }
+
+    public LoadTestConfig withSeed(long seed) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    public LoadTestConfig withClients(int clients, boolean virtualThreads) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    public LoadTestConfig withOperationsPerClient(int operationsPerClient) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    public LoadTestConfig withRoomCount(int roomCount) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    /**
+     * Sets the share of book and cancel operations in percent; the rest are availability queries.
+     */
+    public LoadTestConfig withOperationMix(int bookPercent, int cancelPercent) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    /**
+     * Sets how strongly requests concentrate on the start of the horizon. 1.0 spreads them evenly;
+     * higher values make the first slots increasingly hot.
+     */
+    public LoadTestConfig withTimeSkew(double timeSkew) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    public LoadTestConfig withHorizon(LocalDateTime startOfHorizon, int horizonSlots, Duration slotLength) {
+        return new LoadTestConfig(seed, clients, virtualThreads, operationsPerClient, roomCount, bookPercent,
+                cancelPercent, timeSkew, horizonSlots, slotLength, startOfHorizon);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getOperationsPerClient() {
+        return operationsPerClient;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public int getBookPercent() {
+        return bookPercent;
+    }
+
+    public int getCancelPercent() {
+        return cancelPercent;
+    }
+
+    public double getTimeSkew() {
+        return timeSkew;
+    }
+
+    public int getHorizonSlots() {
+        return horizonSlots;
+    }
+
+    public Duration getSlotLength() {
+        return slotLength;
+    }
+
+    public LocalDateTime getStartOfHorizon() {
+        return startOfHorizon;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.loadtest;
+
+import com.example.Booking;
+import com.example.BookingCreated;
+import com.example.BookingSystem;
+import com.example.InMemoryRoomRepository;
+import com.example.Room;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link BookingSystem} backed by in-memory stand-ins with the workload described by a
+ * {@link LoadTestConfig} and reports throughput and latency percentiles per operation. Each
+ * client's sequence of operations is fully determined by the seed; with a single client the whole
+ * run, including outcomes, replays identically. Run with the main method from the test classpath.
+ */
+public class LoadTestHarness {
+    private static final String UNKNOWN_BOOKING = "unknown-booking";
+
+    private final LoadTestConfig config;
+
+    public LoadTestHarness(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        InMemoryRoomRepository roomRepository = new InMemoryRoomRepository();
+        for (int i = 0; i < config.getRoomCount(); i++) {
+            roomRepository.save(new Room(WorkloadGenerator.roomId(i), "Rum " + i));
+        }
+        BookingSystem bookingSystem = new BookingSystem(
+                new FixedTimeProvider(config.getStartOfHorizon().minusDays(1)),
+                roomRepository,
+                new CountingNotificationService());
+
+        // bookRoom returnerar inget boknings-id, så varje klienttråd fångar sitt eget via händelsen
+        ThreadLocal<Booking> lastCreated = new ThreadLocal<>();
+        bookingSystem.addEventListener(event -> {
+            if (event instanceof BookingCreated) {
+                lastCreated.set(event.getBooking());
+            }
+        });
+
+        WorkloadGenerator generator = new WorkloadGenerator(config);
+        List<List<PlannedOperation>> plans = new ArrayList<>(config.getClients());
+        for (int client = 0; client < config.getClients(); client++) {
+            plans.add(generator.planFor(client));
+        }
+
+        long[][] latencies = new long[config.getClients()][config.getOperationsPerClient()];
+        Map<OperationType, LongAdder> succeeded = counters();
+        Map<OperationType, LongAdder> failed = counters();
+        CountDownLatch start = new CountDownLatch(1);
+        ThreadFactory threadFactory = config.isVirtualThreads()
+                ? Thread.ofVirtual().name("load-client-", 0).factory()
+                : Thread.ofPlatform().name("load-client-", 0).factory();
+
+        long elapsed;
+        try (ExecutorService clients = Executors.newThreadPerTaskExecutor(threadFactory)) {
+            for (int client = 0; client < config.getClients(); client++) {
+                int index = client;
+                clients.submit(() -> {
+                    start.await();
+                    runClient(bookingSystem, lastCreated, plans.get(index), latencies[index], succeeded, failed);
+                    return null;
+                });
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            while (!clients.isTerminated()) {
+                clients.awaitTermination(1, TimeUnit.SECONDS);
+            }
+            elapsed = System.nanoTime() - startNanos;
+        }
+
+        Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            stats.put(type, new OperationStats(type, latenciesOf(type, plans, latencies),
+                    succeeded.get(type).sum(), failed.get(type).sum()));
+        }
+        return new LoadTestReport(config, elapsed, stats);
+    }
+
+    private static void runClient(BookingSystem bookingSystem,
+                                  ThreadLocal<Booking> lastCreated,
+                                  List<PlannedOperation> plan,
+                                  long[] latencies,
+                                  Map<OperationType, LongAdder> succeeded,
+                                  Map<OperationType, LongAdder> failed) {
+        List<String> ownBookings = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            PlannedOperation operation = plan.get(i);
+            long startNanos = System.nanoTime();
+            try {
+                boolean ok = switch (operation.getType()) {
+                    case BOOK -> {
+                        boolean booked = bookingSystem.bookRoom(operation.getRoomId(),
+                                operation.getStartTime(), operation.getEndTime());
+                        if (booked) {
+                            ownBookings.add(lastCreated.get().getId());
+                        }
+                        yield booked;
+                    }
+                    case CANCEL -> bookingSystem.cancelBooking(ownBookings.isEmpty()
+                            ? UNKNOWN_BOOKING
+                            : ownBookings.remove(operation.getCancelPick() % ownBookings.size()));
+                    case QUERY -> !bookingSystem.getAvailableRooms(operation.getStartTime(),
+                            operation.getEndTime()).isEmpty();
+                };
+                if (ok) {
+                    succeeded.get(operation.getType()).increment();
+                }
+            } catch (RuntimeException e) {
+                failed.get(operation.getType()).increment();
+            }
+            latencies[i] = System.nanoTime() - startNanos;
+        }
+    }
+
+    private static long[] latenciesOf(OperationType type, List<List<PlannedOperation>> plans, long[][] latencies) {
+        int count = 0;
+        for (List<PlannedOperation> plan : plans) {
+            for (PlannedOperation operation : plan) {
+                if (operation.getType() == type) {
+                    count++;
+                }
+            }
+        }
+        long[] result = new long[count];
+        int next = 0;
+        for (int client = 0; client < plans.size(); client++) {
+            List<PlannedOperation> plan = plans.get(client);
+            for (int i = 0; i < plan.size(); i++) {
+                if (plan.get(i).getType() == type) {
+                    result[next++] = latencies[client][i];
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<OperationType, LongAdder> counters() {
+        Map<OperationType, LongAdder> counters = new EnumMap<>(OperationType.class);
+        for (OperationType type : OperationType.values()) {
+            counters.put(type, new LongAdder());
+        }
+        return counters;
+    }
+
+    /**
+     * Usage: {@code LoadTestHarness [seed] [clients] [virtual]}
+     */
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestConfig config = LoadTestConfig.defaults();
+        if (args.length > 0) {
+            config = config.withSeed(Long.parseLong(args[0]));
+        }
+        if (args.length > 1) {
+            config = config.withClients(Integer.parseInt(args[1]), args.length > 2 && Boolean.parseBoolean(args[2]));
+        }
+        System.out.print(new LoadTestHarness(config).run());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadTestHarnessTest {
+
+    private static final LoadTestConfig SMALL = LoadTestConfig.defaults()
+            .withRoomCount(20)
+            .withOperationsPerClient(500)
+            .withOperationMix(50, 20)
+            .withTimeSkew(3.0);
+
+    /**
+     * Generates the plan for the same client twice with the same seed, and once with another seed.
+     * Verifies that the plan is reproducible from the seed alone.
+     */
+    @Test
+    void shouldGenerateSameWorkloadForSameSeed() {
+        WorkloadGenerator first = new WorkloadGenerator(SMALL.withSeed(7));
+        WorkloadGenerator second = new WorkloadGenerator(SMALL.withSeed(7));
+        WorkloadGenerator other = new WorkloadGenerator(SMALL.withSeed(8));
+
+        assertThat(first.planFor(3)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(second.planFor(3));
+        assertThat(first.planFor(3).toString()).isNotEqualTo(other.planFor(3).toString());
+    }
+
+    /**
+     * Runs a single-client scenario twice.
+     * Verifies that the outcome of every operation type is identical between the runs.
+     * @throws InterruptedException
+     */
+    @Test
+    void shouldReplaySingleClientScenarioDeterministically() throws InterruptedException {
+        LoadTestConfig config = SMALL.withClients(1, false);
+
+        LoadTestReport first = new LoadTestHarness(config).run();
+        LoadTestReport second = new LoadTestHarness(config).run();
+
+        for (OperationType type : OperationType.values()) {
+            assertThat(first.getStats(type).getCount()).isEqualTo(second.getStats(type).getCount());
+            assertThat(first.getStats(type).getSucceeded()).isEqualTo(second.getStats(type).getSucceeded());
+        }
+        assertThat(first.getStats(OperationType.BOOK).getSucceeded()).isPositive();
+    }
+
+    /**
+     * Runs many clients on virtual threads.
+     * Verifies that every operation is accounted for and latency percentiles are ordered.
+     * @throws InterruptedException
+     */
+    @Test
+    void shouldReportEveryOperationForConcurrentClients() throws InterruptedException {
+        LoadTestConfig config = SMALL.withClients(16, true);
+
+        LoadTestReport report = new LoadTestHarness(config).run();
+
+        assertThat(report.getTotalOperations()).isEqualTo(16 * 500);
+        assertThat(report.getThroughputPerSecond()).isPositive();
+        for (OperationType type : OperationType.values()) {
+            OperationStats stats = report.getStats(type);
+            assertThat(stats.getFailed()).isZero();
+            assertThat(stats.getP50Nanos()).isLessThanOrEqualTo(stats.getP99Nanos());
+            assertThat(stats.getP99Nanos()).isLessThanOrEqualTo(stats.getP999Nanos());
+        }
+        assertThat(report.toString()).contains("BOOK", "CANCEL", "QUERY");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LoadTestReport {
+    private final LoadTestConfig config;
+    private final long elapsedNanos;
+    private final Map<OperationType, OperationStats> stats;
+
+    LoadTestReport(LoadTestConfig config, long elapsedNanos, Map<OperationType, OperationStats> stats) {
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.stats = Collections.unmodifiableMap(new EnumMap<>(stats));
+    }
+
+    public long getTotalOperations() {
+        return stats.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : getTotalOperations() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public OperationStats getStats(OperationType type) {
+        return stats.get(type);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("seed=%d clients=%d%s rooms=%d ops=%d elapsed=%.1f ms throughput=%.0f ops/s%n",
+                config.getSeed(), config.getClients(), config.isVirtualThreads() ? " (virtual)" : "",
+                config.getRoomCount(), getTotalOperations(), elapsedNanos / 1_000_000.0, getThroughputPerSecond()));
+        report.append(String.format("%-7s %9s %9s %7s %10s %10s %10s %10s%n",
+                "op", "count", "ok", "failed", "p50 us", "p99 us", "p999 us", "max us"));
+        for (OperationStats operation : stats.values()) {
+            report.append(String.format("%-7s %9d %9d %7d %10.1f %10.1f %10.1f %10.1f%n",
+                    operation.getType(), operation.getCount(), operation.getSucceeded(), operation.getFailed(),
+                    operation.getP50Nanos() / 1000.0, operation.getP99Nanos() / 1000.0,
+                    operation.getP999Nanos() / 1000.0, operation.getMaxNanos() / 1000.0));
+        }
+        return report.toString();
+    }
+}
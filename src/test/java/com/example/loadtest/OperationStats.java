@@ -0,0 +1,73 @@
+package com.example.loadtest;
+
+import java.util.Arrays;
+
+public class OperationStats {
+    private final OperationType type;
+    private final long count;
+    private final long succeeded;
+    private final long failed;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    OperationStats(OperationType type, long[] latencies, long succeeded, long failed) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        this.type = type;
+        this.count = sorted.length;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.p50Nanos = percentile(sorted, 0.50);
+        this.p99Nanos = percentile(sorted, 0.99);
+        this.p999Nanos = percentile(sorted, 0.999);
+        this.maxNanos = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Operations that returned true, i.e. a booking made or cancelled, or a query that found rooms.
+     */
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Operations that threw an exception.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
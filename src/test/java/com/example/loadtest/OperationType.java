@@ -0,0 +1,7 @@
+package com.example.loadtest;
+
+public enum OperationType {
+    BOOK,
+    CANCEL,
+    QUERY
+}
@@ -0,0 +1,48 @@
+package com.example.loadtest;
+
+import java.time.LocalDateTime;
+
+public class PlannedOperation {
+    private final OperationType type;
+    private final String roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final int cancelPick;
+
+    public PlannedOperation(OperationType type, String roomId, LocalDateTime startTime, LocalDateTime endTime,
+                            int cancelPick) {
+        this.type = type;
+        this.roomId = roomId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.cancelPick = cancelPick;
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Chooses which of the client's own bookings a cancel operation targets.
+     */
+    public int getCancelPick() {
+        return cancelPick;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + roomId + " " + startTime + "-" + endTime + " #" + cancelPick;
+    }
+}
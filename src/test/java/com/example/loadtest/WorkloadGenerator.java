@@ -0,0 +1,47 @@
+package com.example.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the operations each client performs. Every client gets its own random stream derived
+ * from the scenario seed, so a client's plan does not depend on how threads are scheduled.
+ */
+public class WorkloadGenerator {
+    private static final int MAX_SLOTS_PER_BOOKING = 4;
+
+    private final LoadTestConfig config;
+
+    public WorkloadGenerator(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static String roomId(int index) {
+        return "room-" + index;
+    }
+
+    public List<PlannedOperation> planFor(int client) {
+        SplittableRandom random = new SplittableRandom(config.getSeed() * 31 + client);
+        List<PlannedOperation> operations = new ArrayList<>(config.getOperationsPerClient());
+        for (int i = 0; i < config.getOperationsPerClient(); i++) {
+            int roll = random.nextInt(100);
+            OperationType type = roll < config.getBookPercent()
+                    ? OperationType.BOOK
+                    : roll < config.getBookPercent() + config.getCancelPercent() ? OperationType.CANCEL : OperationType.QUERY;
+            int slot = skewedSlot(random);
+            int length = 1 + random.nextInt(MAX_SLOTS_PER_BOOKING);
+            LocalDateTime start = config.getStartOfHorizon().plus(config.getSlotLength().multipliedBy(slot));
+            LocalDateTime end = start.plus(config.getSlotLength().multipliedBy(length));
+            operations.add(new PlannedOperation(type, roomId(random.nextInt(config.getRoomCount())), start, end,
+                    random.nextInt(Integer.MAX_VALUE)));
+        }
+        return operations;
+    }
+
+    private int skewedSlot(SplittableRandom random) {
+        double position = Math.pow(random.nextDouble(), config.getTimeSkew());
+        return Math.min((int) (position * config.getHorizonSlots()), config.getHorizonSlots() - 1);
+    }
+}
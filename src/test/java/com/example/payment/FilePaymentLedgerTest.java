@@ -0,0 +1,88 @@
+package com.example.payment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilePaymentLedgerTest {
+    @TempDir
+    Path directory;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 30);
+
+    /**
+     * Appends two batches, reopens the ledger and appends again.
+     * Verifies that every record is read back in the order it was written.
+     * @throws LedgerException
+     */
+    @Test
+    void shouldAppendBatchesAndReadThemBack() throws LedgerException {
+        Path file = directory.resolve("payments.ledger");
+        PaymentRecord first = new PaymentRecord("tx-1", new BigDecimal("10.50"), PaymentStatus.SUCCESS, NOW);
+        PaymentRecord second = new PaymentRecord("tx-2", new BigDecimal("99.99"), PaymentStatus.SUCCESS, NOW);
+        PaymentRecord third = new PaymentRecord("tx-3", BigDecimal.ONE, PaymentStatus.SUCCESS, NOW.plusMinutes(1));
+
+        try (FilePaymentLedger ledger = new FilePaymentLedger(file)) {
+            ledger.appendAll(List.of(first, second));
+        }
+        try (FilePaymentLedger ledger = new FilePaymentLedger(file)) {
+            ledger.appendAll(List.of(third));
+
+            List<PaymentRecord> records = ledger.readAll();
+
+            assertThat(records).extracting(PaymentRecord::getTransactionId).containsExactly("tx-1", "tx-2", "tx-3");
+            assertThat(records.get(1).getAmount()).isEqualTo(new BigDecimal("99.99"));
+            assertThat(records.get(2).getProcessedAt()).isEqualTo(NOW.plusMinutes(1));
+        }
+    }
+
+    /**
+     * Leaves a half-written line at the end of the file, as a crash in the middle of a batch would.
+     * Verifies that the torn line is dropped on open and the next batch starts on a clean line.
+     * @throws Exception
+     */
+    @Test
+    void shouldDropTornLineOnOpen() throws Exception {
+        Path file = directory.resolve("payments.ledger");
+        PaymentRecord first = new PaymentRecord("tx-1", BigDecimal.TEN, PaymentStatus.SUCCESS, NOW);
+        PaymentRecord second = new PaymentRecord("tx-2", BigDecimal.ONE, PaymentStatus.SUCCESS, NOW);
+        try (FilePaymentLedger ledger = new FilePaymentLedger(file)) {
+            ledger.appendAll(List.of(first));
+        }
+        Files.writeString(file, "tx-2;1;SUCC", StandardOpenOption.APPEND);
+
+        try (FilePaymentLedger ledger = new FilePaymentLedger(file)) {
+            ledger.appendAll(List.of(second));
+
+            assertThat(ledger.readAll()).extracting(PaymentRecord::getTransactionId).containsExactly("tx-1", "tx-2");
+        }
+    }
+
+    /**
+     * Runs the file ledger behind a payment processor.
+     * Verifies that every processed payment ends up in the file once the processor is closed.
+     * @throws Exception
+     */
+    @Test
+    void shouldStorePaymentsFromProcessor() throws Exception {
+        Path file = directory.resolve("payments.ledger");
+        try (FilePaymentLedger ledger = new FilePaymentLedger(file)) {
+            PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(), ledger,
+                    record -> { }, () -> NOW);
+            for (int i = 0; i < 200; i++) {
+                processor.processPayment(BigDecimal.TEN);
+            }
+            processor.close();
+
+            assertThat(ledger.readAll()).hasSize(200);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.payment;
+
+import com.example.TimeProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentPaymentProcessorTest {
+    @Mock
+    PaymentProcessor paymentProcessor;
+    @Mock
+    TimeProvider timeProvider;
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    private final PaymentRecord record = new PaymentRecord("tx-1", AMOUNT, PaymentStatus.SUCCESS, NOW);
+
+    /**
+     * Sends the same idempotency key twice while the first payment is still in flight.
+     * Verifies that the processor is only called once and both calls share the result.
+     */
+    @Test
+    void shouldReturnInFlightResultForRepeatedKey() {
+        CompletableFuture<PaymentRecord> inFlight = new CompletableFuture<>();
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(inFlight);
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+
+        CompletableFuture<PaymentRecord> first = processor.processPayment("key-1", AMOUNT);
+        CompletableFuture<PaymentRecord> second = processor.processPayment("key-1", AMOUNT);
+        inFlight.complete(record);
+
+        assertThat(first.join()).isSameAs(record);
+        assertThat(second.join()).isSameAs(record);
+        verify(paymentProcessor, times(1)).processPayment(AMOUNT);
+    }
+
+    /**
+     * The first caller cancels its future while the payment is still in flight.
+     * Verifies that a retry with the same key still gets the real outcome of the payment.
+     */
+    @Test
+    void shouldNotLetCallerChangeSharedResult() {
+        CompletableFuture<PaymentRecord> inFlight = new CompletableFuture<>();
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(inFlight);
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+
+        processor.processPayment("key-1", AMOUNT).cancel(true);
+        inFlight.complete(record);
+
+        assertThat(processor.processPayment("key-1", AMOUNT).join()).isSameAs(record);
+        verify(paymentProcessor, times(1)).processPayment(AMOUNT);
+    }
+
+    /**
+     * Mockito is instructed to let time pass beyond the time-to-live between two calls with the same key.
+     * Verifies that the second call is processed as a new payment.
+     */
+    @Test
+    void shouldProcessAgainAfterKeyHasExpired() {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW, NOW.plus(TTL).plusSeconds(1));
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(CompletableFuture.completedFuture(record));
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+
+        processor.processPayment("key-1", AMOUNT).join();
+        processor.processPayment("key-1", AMOUNT).join();
+
+        verify(paymentProcessor, times(2)).processPayment(AMOUNT);
+    }
+
+    /**
+     * Mockito is instructed to fail the first payment.
+     * Verifies that the key is forgotten so the retry reaches the processor.
+     */
+    @Test
+    void shouldForgetKeyWhenPaymentFails() {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Gateway nere")))
+                .thenReturn(CompletableFuture.completedFuture(record));
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+
+        assertThat(processor.processPayment("key-1", AMOUNT)).isCompletedExceptionally();
+        assertThat(processor.processPayment("key-1", AMOUNT).join()).isSameAs(record);
+    }
+
+    /**
+     * Mockito is instructed to fail the payment after the gateway has charged it.
+     * Verifies that the key is kept so the retry returns the failure instead of charging again.
+     */
+    @Test
+    void shouldKeepKeyWhenChargedPaymentIsNotRecorded() {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(CompletableFuture.failedFuture(
+                new PaymentNotRecordedException("tx-1", new IllegalStateException("Ledgern är stängd"))));
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+
+        assertThat(processor.processPayment("key-1", AMOUNT)).isCompletedExceptionally();
+        assertThat(processor.processPayment("key-1", AMOUNT)).isCompletedExceptionally();
+        verify(paymentProcessor, times(1)).processPayment(AMOUNT);
+    }
+
+    /**
+     * Fills the cache beyond its capacity.
+     * Verifies that the oldest keys are evicted so the cache stays bounded.
+     */
+    @Test
+    void shouldEvictOldestKeysWhenFull() {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(CompletableFuture.completedFuture(record));
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 2, TTL);
+
+        processor.processPayment("key-1", AMOUNT);
+        processor.processPayment("key-2", AMOUNT);
+        processor.processPayment("key-3", AMOUNT);
+        processor.processPayment("key-1", AMOUNT);
+
+        assertThat(processor.size()).isEqualTo(2);
+        verify(paymentProcessor, times(4)).processPayment(AMOUNT);
+    }
+
+    /**
+     * Reuses an idempotency key with a different amount then asserts that an exception is thrown.
+     */
+    @Test
+    void shouldThrowExceptionWhenKeyIsReusedForDifferentAmount() {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        when(paymentProcessor.processPayment(AMOUNT)).thenReturn(CompletableFuture.completedFuture(record));
+        IdempotentPaymentProcessor processor = new IdempotentPaymentProcessor(paymentProcessor, timeProvider, 10, TTL);
+        processor.processPayment("key-1", AMOUNT);
+
+        assertThatThrownBy(() -> processor.processPayment("key-1", BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Idempotensnyckeln används redan för ett annat belopp");
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.payment;
+
+import com.example.NotificationException;
+import com.example.TimeProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+    @Mock
+    PaymentGateway paymentGateway;
+    @Mock
+    PaymentLedger paymentLedger;
+    @Mock
+    PaymentNotifier paymentNotifier;
+    @Mock
+    TimeProvider timeProvider;
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    /**
+     * Processes a payment against the in-memory gateway and closes the processor to flush the ledger.
+     * Verifies that the payment is returned as successful, written to the ledger and confirmed.
+     * @throws Exception
+     */
+    @Test
+    void shouldProcessPaymentSuccessfully() throws Exception {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(), paymentLedger,
+                paymentNotifier, timeProvider);
+
+        PaymentRecord record = processor.processPayment(new BigDecimal("100.00")).join();
+        processor.close();
+
+        assertThat(record.isSuccess()).isTrue();
+        assertThat(record.getProcessedAt()).isEqualTo(NOW);
+        verify(paymentLedger).appendAll(List.of(record));
+        verify(paymentNotifier).sendPaymentConfirmation(record);
+    }
+
+    /**
+     * The gateway is configured to decline amounts above 50.
+     * Verifies that nothing is written to the ledger and no confirmation is sent.
+     * @throws Exception
+     */
+    @Test
+    void shouldNotRecordDeclinedPayment() throws Exception {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(new BigDecimal("50")),
+                paymentLedger, paymentNotifier, timeProvider);
+
+        PaymentRecord record = processor.processPayment(new BigDecimal("100.00")).join();
+        processor.close();
+
+        assertThat(record.getStatus()).isEqualTo(PaymentStatus.DECLINED);
+        verify(paymentLedger, never()).appendAll(anyList());
+        verify(paymentNotifier, never()).sendPaymentConfirmation(any(PaymentRecord.class));
+    }
+
+    /**
+     * Processes many payments and collects every batch written to the ledger.
+     * Verifies that every payment is written exactly once.
+     * @throws Exception
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteEveryPaymentToLedgerOnce() throws Exception {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(), paymentLedger,
+                paymentNotifier, timeProvider);
+
+        List<PaymentRecord> records = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            records.add(processor.processPayment(BigDecimal.TEN).join());
+        }
+        processor.close();
+
+        ArgumentCaptor<List<PaymentRecord>> batches = ArgumentCaptor.forClass(List.class);
+        verify(paymentLedger, atLeastOnce()).appendAll(batches.capture());
+        assertThat(batches.getAllValues().stream().flatMap(List::stream))
+                .containsExactlyInAnyOrderElementsOf(records);
+    }
+
+    /**
+     * Mockito is instructed to throw NotificationException when sending the confirmation.
+     * Verifies that the payment still completes successfully.
+     * @throws Exception
+     */
+    @Test
+    void shouldCompletePaymentWhenNotificationFails() throws Exception {
+        when(timeProvider.getCurrentTime()).thenReturn(NOW);
+        doThrow(new NotificationException("Notification failed"))
+                .when(paymentNotifier).sendPaymentConfirmation(any(PaymentRecord.class));
+        PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(), paymentLedger,
+                paymentNotifier, timeProvider);
+
+        PaymentRecord record = processor.processPayment(BigDecimal.ONE).join();
+        processor.close();
+
+        assertThat(record.isSuccess()).isTrue();
+        verify(paymentLedger).appendAll(List.of(record));
+    }
+
+    /**
+     * Closes the processor and then tries to process a payment.
+     * Verifies that the payment is rejected before the gateway is asked to charge it.
+     * @throws Exception
+     */
+    @Test
+    void shouldRejectPaymentAfterClose() throws Exception {
+        PaymentProcessor processor = new PaymentProcessor(paymentGateway, paymentLedger,
+                paymentNotifier, timeProvider);
+        processor.close();
+
+        assertThatThrownBy(() -> processor.processPayment(BigDecimal.ONE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Betalningsprocessorn är stängd");
+        verifyNoInteractions(paymentGateway, paymentLedger, paymentNotifier);
+    }
+
+    /**
+     * Runs processPayment with a zero amount then asserts that an exception is thrown.
+     * @throws Exception
+     */
+    @Test
+    void shouldThrowExceptionForInvalidAmount() throws Exception {
+        try (PaymentProcessor processor = new PaymentProcessor(new InMemoryPaymentGateway(), paymentLedger,
+                paymentNotifier, timeProvider)) {
+            assertThatThrownBy(() -> processor.processPayment(BigDecimal.ZERO))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Beloppet måste vara större än noll");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.replication;
+
+import com.example.Booking;
+import com.example.BookingSystem;
+import com.example.Equipment;
+import com.example.InMemoryRoomRepository;
+import com.example.NotificationService;
+import com.example.Room;
+import com.example.TimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicationTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 9, 1, 8, 0);
+    private static final LocalDateTime START = NOW.plusDays(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final TimeProvider TIME = () -> NOW;
+    private static final NotificationService NO_NOTIFICATIONS = new NotificationService() {
+        @Override
+        public void sendBookingConfirmation(Booking booking) {
+        }
+
+        @Override
+        public void sendCancellationConfirmation(Booking booking) {
+        }
+    };
+
+    /**
+     * Books and cancels on the primary over loopback with a replica connected from the start.
+     * Verifies that the replica catches up, matches the primary and answers availability the same way.
+     * @throws Exception
+     */
+    @Test
+    void shouldReplicateBookingsAndCancellationsToReplica() throws Exception {
+        try (ReplicatingRoomRepository primary = primary();
+             RoomReplica replica = RoomReplica.connect(loopback(primary.getPort()))) {
+            BookingSystem bookingSystem = new BookingSystem(TIME, primary, NO_NOTIFICATIONS);
+
+            bookingSystem.bookRoom("room-1", START, START.plusHours(1));
+            bookingSystem.bookRoom("room-2", START, START.plusHours(2));
+            Booking cancelled = primary.findById("room-1").orElseThrow().getBookings().iterator().next();
+            bookingSystem.cancelBooking(cancelled.getId());
+            bookingSystem.bookRoom("room-1", START.plusHours(3), START.plusHours(4));
+
+            assertThat(replica.awaitSequence(primary.getSequence(), TIMEOUT)).isTrue();
+            assertThat(ReplicaConsistencyCheck.differences(primary, replica.getRepository())).isEmpty();
+            assertThat(replica.isLagWithin(TIMEOUT)).isTrue();
+            assertThat(replica.getLastFrameAt()).isPresent();
+
+            BookingSystem readOnly = BookingSystem.readOnly(TIME, replica.getRepository());
+            assertThat(readOnly.getAvailableRooms(START, START.plusHours(1)))
+                    .extracting(Room::getId)
+                    .containsExactlyInAnyOrderElementsOf(bookingSystem.getAvailableRooms(START, START.plusHours(1))
+                            .stream().map(Room::getId).toList());
+        }
+    }
+
+    /**
+     * Books rooms before any replica is connected.
+     * Verifies that a replica joining late receives the full state, including room attributes.
+     * @throws Exception
+     */
+    @Test
+    void shouldSendFullStateToLateReplica() throws Exception {
+        try (ReplicatingRoomRepository primary = primary()) {
+            BookingSystem bookingSystem = new BookingSystem(TIME, primary, NO_NOTIFICATIONS);
+            bookingSystem.bookRoomsAtomically(Set.of("room-1", "room-2"), START, START.plusHours(1));
+
+            try (RoomReplica replica = RoomReplica.connect(loopback(primary.getPort()))) {
+                assertThat(replica.awaitSequence(primary.getSequence(), TIMEOUT)).isTrue();
+
+                assertThat(ReplicaConsistencyCheck.differences(primary, replica.getRepository())).isEmpty();
+                assertThat(replica.getRepository().findById("room-2").orElseThrow().getEquipment())
+                        .containsExactly(Equipment.PROJECTOR);
+            }
+        }
+    }
+
+    /**
+     * Starts a primary with more rooms than a replica's queue can hold and connects a replica late.
+     * Verifies that the snapshot is not limited by the queue, so the replica joins and keeps receiving changes.
+     * @throws Exception
+     */
+    @Test
+    void shouldSendSnapshotLargerThanQueueCapacity() throws Exception {
+        InMemoryRoomRepository rooms = new InMemoryRoomRepository();
+        for (int i = 0; i < 200; i++) {
+            rooms.save(new Room("room-" + i, "Rum " + i));
+        }
+        try (ReplicatingRoomRepository primary = new ReplicatingRoomRepository(rooms, loopback(0), 8);
+             RoomReplica replica = RoomReplica.connect(loopback(primary.getPort()))) {
+            BookingSystem bookingSystem = new BookingSystem(TIME, primary, NO_NOTIFICATIONS);
+            bookingSystem.bookRoom("room-150", START, START.plusHours(1));
+
+            assertThat(replica.awaitSequence(primary.getSequence(), TIMEOUT)).isTrue();
+            assertThat(replica.isConnected()).isTrue();
+            assertThat(ReplicaConsistencyCheck.differences(primary, replica.getRepository())).isEmpty();
+        }
+    }
+
+    /**
+     * Verifies that the consistency check reports rooms that differ or exist on one side only.
+     */
+    @Test
+    void shouldReportDifferingRooms() {
+        InMemoryRoomRepository primary = new InMemoryRoomRepository();
+        InMemoryRoomRepository replica = new InMemoryRoomRepository();
+        Room booked = new Room("room-1", "Stora salen");
+        booked.addBooking(new Booking("b-1", "room-1", START, START.plusHours(1)));
+        primary.saveAll(List.of(booked, new Room("room-2", "Lilla rummet")));
+        replica.saveAll(List.of(new Room("room-1", "Stora salen"), new Room("room-3", "Nya rummet")));
+
+        assertThat(ReplicaConsistencyCheck.differences(primary, replica))
+                .containsExactly("room-1", "room-2", "room-3");
+    }
+
+    /**
+     * Verifies that a read-only booking system rejects bookings.
+     */
+    @Test
+    void shouldRejectWritesInReadOnlyMode() {
+        BookingSystem readOnly = BookingSystem.readOnly(TIME, new InMemoryRoomRepository());
+
+        assertThatThrownBy(() -> readOnly.bookRoom("room-1", START, START.plusHours(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Bokningssystemet är skrivskyddat");
+    }
+
+    private static ReplicatingRoomRepository primary() throws IOException {
+        InMemoryRoomRepository rooms = new InMemoryRoomRepository();
+        rooms.saveAll(List.of(
+                new Room("room-1", "Stora salen", 20, 1, Set.of()),
+                new Room("room-2", "Lilla rummet", 6, 2, Set.of(Equipment.PROJECTOR)),
+                new Room("room-3", "Biblioteket", 4, 2, Set.of())));
+        return new ReplicatingRoomRepository(rooms, loopback(0));
+    }
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+}
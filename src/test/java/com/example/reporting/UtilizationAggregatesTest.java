@@ -0,0 +1,108 @@
+package com.example.reporting;
+
+import com.example.Booking;
+import com.example.BookingCancelled;
+import com.example.BookingCreated;
+import com.example.Room;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UtilizationAggregatesTest {
+
+    // 2026-09-07 är en måndag
+    private static final LocalDate MONDAY = LocalDate.of(2026, 9, 7);
+
+    /**
+     * Books a room from 22:00 to 02:00 the next day.
+     * Verifies that the minutes are split between the two days.
+     */
+    @Test
+    void shouldSplitBookingOverMidnightBetweenDays() {
+        UtilizationAggregates aggregates = new UtilizationAggregates();
+
+        aggregates.onEvent(new BookingCreated(booking("b-1", "room-1", MONDAY.atTime(22, 0), MONDAY.plusDays(1).atTime(2, 0))));
+
+        assertThat(aggregates.utilization("room-1", MONDAY, MONDAY.plusDays(1)).getBookedMinutes()).isEqualTo(120);
+        assertThat(aggregates.utilization("room-1", MONDAY.plusDays(1), MONDAY.plusDays(2)).getBookedMinutes()).isEqualTo(120);
+        assertThat(aggregates.utilization("room-1", MONDAY, MONDAY.plusDays(2)).getRatio()).isEqualTo(240.0 / (2 * 24 * 60));
+    }
+
+    /**
+     * Books hours spread over three weeks and queries ranges that start and end mid-week.
+     * Verifies that ranges mixing whole weeks and partial weeks add up to the booked minutes.
+     */
+    @Test
+    void shouldSumRangesAcrossWholeAndPartialWeeks() {
+        UtilizationAggregates aggregates = new UtilizationAggregates();
+        for (int day = 0; day < 21; day++) {
+            LocalDateTime start = MONDAY.plusDays(day).atTime(9, 0);
+            aggregates.onEvent(new BookingCreated(booking("b-" + day, "room-1", start, start.plusHours(1))));
+        }
+
+        assertThat(aggregates.utilization("room-1", MONDAY.plusDays(3), MONDAY.plusDays(17)).getBookedMinutes())
+                .isEqualTo(14 * 60);
+        assertThat(aggregates.utilization("room-1", MONDAY.minusDays(10), MONDAY.plusDays(30)).getBookedMinutes())
+                .isEqualTo(21 * 60);
+        assertThat(aggregates.utilization("room-1", MONDAY.plusDays(7), MONDAY.plusDays(14)).getBookedMinutes())
+                .isEqualTo(7 * 60);
+    }
+
+    /**
+     * Books and then cancels a booking.
+     * Verifies that the cancellation removes its minutes again.
+     */
+    @Test
+    void shouldSubtractCancelledBooking() {
+        UtilizationAggregates aggregates = new UtilizationAggregates();
+        Booking booking = booking("b-1", "room-1", MONDAY.atTime(9, 0), MONDAY.atTime(11, 0));
+
+        aggregates.onEvent(new BookingCreated(booking));
+        aggregates.onEvent(new BookingCancelled(booking));
+
+        assertThat(aggregates.utilization("room-1", MONDAY, MONDAY.plusDays(7)).getBookedMinutes()).isZero();
+    }
+
+    /**
+     * Seeds the aggregates from existing rooms, one of them without bookings.
+     * Verifies that the busiest rooms are returned first and that the limit is respected.
+     */
+    @Test
+    void shouldReturnBusiestRoomsFirst() {
+        Room quiet = new Room("room-1", "Lilla rummet");
+        Room busy = new Room("room-2", "Stora salen");
+        Room empty = new Room("room-3", "Tomma rummet");
+        quiet.addBooking(booking("b-1", "room-1", MONDAY.atTime(9, 0), MONDAY.atTime(10, 0)));
+        busy.addBooking(booking("b-2", "room-2", MONDAY.atTime(9, 0), MONDAY.atTime(12, 0)));
+        UtilizationAggregates aggregates = new UtilizationAggregates();
+
+        aggregates.addAll(List.of(quiet, busy, empty));
+
+        assertThat(aggregates.busiestRooms(MONDAY, MONDAY.plusDays(1), 2))
+                .extracting(RoomUtilization::getRoomId)
+                .containsExactly("room-2", "room-1");
+        assertThat(aggregates.busiestRooms(MONDAY, MONDAY.plusDays(1), 5)).hasSize(3);
+    }
+
+    /**
+     * Verifies that an empty or reversed range is rejected.
+     */
+    @Test
+    void shouldThrowExceptionForInvalidRange() {
+        UtilizationAggregates aggregates = new UtilizationAggregates();
+
+        assertThatThrownBy(() -> aggregates.utilization("room-1", MONDAY, MONDAY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Slutdatum måste vara efter startdatum");
+    }
+
+    private static Booking booking(String id, String roomId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(id, roomId, start, end);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.shop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk pricing engine against calling getTotalPrice for one cart at a time.
+ * Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkPricingEngineBenchmark {
+    @Param({"10000", "100000"})
+    int cartCount;
+
+    private List<ShoppingCart> carts;
+    private PriceTable priceTable;
+    private BulkPricingEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Product> catalog = new ArrayList<>();
+        Map<String, BigDecimal> newPrices = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            Product product = new Product("Product-" + i, BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+            catalog.add(product);
+            if (i % 4 == 0) {
+                newPrices.put(product.getName(), product.getPrice().add(BigDecimal.ONE));
+            }
+        }
+
+        carts = new ArrayList<>(cartCount);
+        for (int i = 0; i < cartCount; i++) {
+            ShoppingCart cart = new ShoppingCart();
+            int lines = 1 + random.nextInt(20);
+            for (int line = 0; line < lines; line++) {
+                cart.addProduct(catalog.get(random.nextInt(catalog.size())), 1 + random.nextInt(5));
+            }
+            carts.add(cart);
+        }
+        priceTable = new PriceTable(newPrices);
+        engine = new BulkPricingEngine();
+    }
+
+    @Benchmark
+    public BigDecimal perCartLoop() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (ShoppingCart cart : carts) {
+            sum = sum.add(cart.getTotalPrice());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] bulkEngine() {
+        return engine.computeTotalsInCents(carts, priceTable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkPricingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkPricingEngineTest {
+
+    @Test
+    @DisplayName("Should compute the same totals as getTotalPrice when the price table is empty")
+    void shouldComputeSameTotalsAsGetTotalPrice() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        Product banana = new Product("Banana", new BigDecimal("2.00"));
+        List<ShoppingCart> carts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ShoppingCart cart = new ShoppingCart();
+            cart.addProduct(apple, i + 1);
+            if (i % 2 == 0) {
+                cart.addProduct(banana, 2);
+                cart.applyProductDiscount(banana, new BigDecimal("0.50"));
+            }
+            if (i % 3 == 0) {
+                cart.applyTotalDiscount(new BigDecimal("0.10"));
+            }
+            carts.add(cart);
+        }
+        BulkPricingEngine engine = new BulkPricingEngine(new ForkJoinPool(4), 8);
+
+        // When
+        long[] totals = engine.computeTotalsInCents(carts, PriceTable.empty());
+
+        // Then
+        for (int i = 0; i < carts.size(); i++) {
+            assertThat(BigDecimal.valueOf(totals[i], 2))
+                    .isEqualByComparingTo(carts.get(i).getTotalPrice().setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reprice carts using the prices in the price table")
+    void shouldRepriceCartsUsingPriceTable() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        Product banana = new Product("Banana", new BigDecimal("2.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 2);
+        cart.addProduct(banana, 1);
+        PriceTable priceTable = new PriceTable(Map.of("Apple", new BigDecimal("1.00")));
+
+        // When
+        long[] totals = new BulkPricingEngine().computeTotalsInCents(List.of(cart), priceTable);
+
+        // Then
+        assertThat(totals).containsExactly(400L);
+    }
+
+    @Test
+    @DisplayName("Should cap product discounts at the new product price")
+    void shouldCapProductDiscountAtNewPrice() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 2);
+        cart.applyProductDiscount(apple, new BigDecimal("1.00"));
+        PriceTable priceTable = new PriceTable(Map.of("Apple", new BigDecimal("0.75")));
+
+        // When
+        long[] totals = new BulkPricingEngine().computeTotalsInCents(List.of(cart), priceTable);
+
+        // Then
+        assertThat(totals).containsExactly(0L);
+    }
+
+    @Test
+    @DisplayName("Should return an empty array for an empty batch")
+    void shouldReturnEmptyArrayForEmptyBatch() {
+        // When
+        long[] totals = new BulkPricingEngine().computeTotalsInCents(List.of(), PriceTable.empty());
+
+        // Then
+        assertThat(totals).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid arguments")
+    void shouldThrowExceptionForInvalidArguments() {
+        // Given
+        BulkPricingEngine engine = new BulkPricingEngine();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> engine.computeTotalsInCents(null, PriceTable.empty()));
+        assertThrows(IllegalArgumentException.class, () -> engine.computeTotalsInCents(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> new BulkPricingEngine(ForkJoinPool.commonPool(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PriceTable(Map.of("Apple", new BigDecimal("-1"))));
+    }
+}
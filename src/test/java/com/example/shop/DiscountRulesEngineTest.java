@@ -0,0 +1,137 @@
+package com.example.shop;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiscountRulesEngineTest {
+
+    @Test
+    @DisplayName("Should give free items for buy-X-get-Y rule")
+    void shouldGiveFreeItemsForBuyXGetYRule() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 7);
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(new BuyXGetYRule("Apple", 2, 1)));
+
+        // When
+        BigDecimal discount = engine.calculateDiscount(cart);
+
+        // Then
+        assertThat(discount).isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    @DisplayName("Should apply the highest tier reached by the quantity")
+    void shouldApplyHighestTierReached() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("2.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 10);
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(new TieredQuantityRule("Apple",
+                Map.of(5, new BigDecimal("10"), 10, new BigDecimal("20"), 20, new BigDecimal("30")))));
+
+        // When
+        BigDecimal total = engine.calculateTotalPrice(cart);
+
+        // Then
+        assertThat(total).isEqualByComparingTo("16.00");
+    }
+
+    @Test
+    @DisplayName("Should apply category rule only to products in that category")
+    void shouldApplyCategoryRuleOnlyToMatchingProducts() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("2.00"), "Fruit");
+        Product bread = new Product("Bread", new BigDecimal("3.00"), "Bakery");
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 2);
+        cart.addProduct(bread);
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(new CategoryDiscountRule("Fruit", new BigDecimal("50"))));
+
+        // When
+        BigDecimal discount = engine.calculateDiscount(cart);
+
+        // Then
+        assertThat(discount).isEqualByComparingTo("2.00");
+    }
+
+    @Test
+    @DisplayName("Should use the best matching rule instead of stacking rules")
+    void shouldUseBestMatchingRule() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.00"), "Fruit");
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 3);
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(
+                new CategoryDiscountRule("Fruit", new BigDecimal("10")),
+                new BuyXGetYRule("Apple", 2, 1)));
+
+        // When
+        BigDecimal discount = engine.calculateDiscount(cart);
+
+        // Then
+        assertThat(discount).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    @DisplayName("Should evaluate rules on the line net of its product discount before the cart discount")
+    void shouldEvaluateRulesNetOfProductDiscountBeforeCartDiscount() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("2.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 3);
+        cart.applyProductDiscount(apple, new BigDecimal("0.50"));
+        cart.applyTotalDiscount(new BigDecimal("0.10"));
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(new BuyXGetYRule("Apple", 2, 1)));
+
+        // When
+        BigDecimal discount = engine.calculateDiscount(cart);
+        BigDecimal total = engine.calculateTotalPrice(cart);
+
+        // Then
+        assertThat(discount).isEqualByComparingTo("1.50");
+        assertThat(total).isEqualByComparingTo("2.70");
+    }
+
+    @Test
+    @DisplayName("Should use new rules after promotions are swapped")
+    void shouldUseNewRulesAfterSwap() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 3);
+        DiscountRulesEngine engine = new DiscountRulesEngine();
+        engine.updateRules(List.of(new BuyXGetYRule("Apple", 2, 1)));
+        CompiledDiscountRules previous = engine.getActiveRules();
+
+        // When
+        engine.updateRules(List.of());
+
+        // Then
+        assertThat(engine.calculateDiscount(cart)).isEqualByComparingTo("0");
+        assertThat(previous.discountFor(cart)).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid rules")
+    void shouldThrowExceptionForInvalidRules() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new BuyXGetYRule("Apple", 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TieredQuantityRule("Apple", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> new CategoryDiscountRule("Fruit", new BigDecimal("101")));
+        assertThrows(IllegalArgumentException.class, () -> new DiscountRulesEngine().updateRules(null));
+    }
+}
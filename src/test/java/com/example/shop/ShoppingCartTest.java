@@ -8,8 +8,12 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
@@ -345,4 +349,126 @@ class ShoppingCartTest {
         // Then
         assertThat(cart.getTotalPrice()).isEqualTo(new BigDecimal(expectedTotalStr));
     }
+
+    @Test
+    @DisplayName("Should reflect cart changes in read-only views without copying")
+    void shouldReflectCartChangesInReadOnlyViews() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        ShoppingCart cart = new ShoppingCart();
+        Map<Product, Integer> products = cart.getProductsView();
+
+        // When
+        cart.addProduct(apple, 2);
+
+        // Then
+        assertThat(products).containsEntry(apple, 2);
+        assertThat(cart.getProductsView()).isSameAs(products);
+        assertThrows(UnsupportedOperationException.class, () -> products.put(apple, 5));
+        assertThrows(UnsupportedOperationException.class, () -> cart.getProductDiscountsView().clear());
+    }
+
+    @Test
+    @DisplayName("Should reuse snapshot until the cart is modified")
+    void shouldReuseSnapshotUntilCartIsModified() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple);
+        CartSnapshot first = cart.snapshot();
+
+        // When
+        CartSnapshot second = cart.snapshot();
+        cart.addProduct(apple);
+        CartSnapshot third = cart.snapshot();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first);
+        assertThat(first.getProducts()).containsEntry(apple, 1);
+        assertThat(third.getProducts()).containsEntry(apple, 2);
+        assertThat(third.getVersion()).isGreaterThan(first.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should visit every line with its quantity and discount")
+    void shouldVisitEveryLineWithQuantityAndDiscount() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        Product banana = new Product("Banana", new BigDecimal("2.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple, 3);
+        cart.addProduct(banana);
+        cart.applyProductDiscount(apple, new BigDecimal("0.50"));
+        Map<String, String> visited = new HashMap<>();
+
+        // When
+        cart.forEachLine((product, quantity, discount) ->
+                visited.put(product.getName(), quantity + "/" + discount));
+
+        // Then
+        assertThat(visited).containsOnly(entry("Apple", "3/0.50"), entry("Banana", "1/0"));
+    }
+
+    @Test
+    @DisplayName("Should check out cart into priced order whose lines add up to the total price")
+    void shouldCheckOutCartIntoConsistentPricedOrder() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        Product banana = new Product("Banana", new BigDecimal("2.00"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(banana, 2);
+        cart.addProduct(apple, 3);
+        cart.applyProductDiscount(apple, new BigDecimal("0.50"));
+        cart.applyTotalDiscount(new BigDecimal("0.10"));
+
+        // When
+        PricedOrder order = cart.checkout();
+
+        // Then
+        assertThat(order.getLines())
+                .extracting(line -> line.getProduct().getName(), PricedLine::getQuantity, PricedLine::getLineTotal)
+                .containsExactly(
+                        tuple("Apple", 3, new BigDecimal("3.00")),
+                        tuple("Banana", 2, new BigDecimal("4.00")));
+        assertThat(order.getSubtotal()).isEqualByComparingTo("8.50");
+        assertThat(order.getProductDiscountTotal()).isEqualByComparingTo("1.50");
+        assertThat(order.getOrderDiscount()).isEqualByComparingTo("0.70");
+        assertThat(order.getGrandTotal()).isEqualByComparingTo("6.30")
+                .isEqualByComparingTo(cart.getTotalPrice());
+    }
+
+    @Test
+    @DisplayName("Should keep priced order unchanged and reuse it until cart is modified")
+    void shouldKeepPricedOrderUnchangedWhenCartChanges() {
+        // Given
+        Product apple = new Product("Apple", new BigDecimal("1.50"));
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(apple);
+        PricedOrder first = cart.checkout();
+
+        // When
+        PricedOrder second = cart.checkout();
+        cart.addProduct(apple);
+        PricedOrder third = cart.checkout();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.getGrandTotal()).isEqualByComparingTo("1.50");
+        assertThat(third.getGrandTotal()).isEqualByComparingTo("3.00");
+        assertThrows(UnsupportedOperationException.class, () -> first.getLines().clear());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when checking out empty cart")
+    void shouldThrowExceptionWhenCheckingOutEmptyCart() {
+        // Given
+        ShoppingCart cart = new ShoppingCart();
+
+        // When
+        IllegalStateException exception = assertThrows(IllegalStateException.class, cart::checkout);
+
+        // Then
+        assertThat(exception).hasMessage("Cannot check out an empty cart");
+    }
 }